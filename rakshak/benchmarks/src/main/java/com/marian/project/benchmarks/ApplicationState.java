@@ -0,0 +1,44 @@
+package com.marian.project.benchmarks;
+
+import com.marian.project.RakshakApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// The whole application (services, repositories, in-memory caches and indexes) started once per
+// trial on the benchmark profile: H2 in MySQL mode, no web server, background jobs off.
+// Benchmark states extend this and override seed() to create the rows they need.
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    protected ConfigurableApplicationContext context;
+    protected Fixtures fixtures;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(RakshakApplication.class)
+                .profiles("benchmark")
+                .run();
+        fixtures = new Fixtures(context);
+        seed();
+    }
+
+    // Runs once the application is up, before any iteration
+    protected void seed() {
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    protected <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
@@ -0,0 +1,51 @@
+package com.marian.project.benchmarks;
+
+import com.marian.project.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// UserService.authenticateUser. A good password is dominated by the BCrypt check on the bounded
+// hasher pool (rakshak.security.bcrypt.*); an unknown email is a principal lookup and nothing else.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    public static class AuthState extends ApplicationState {
+
+        UserService userService;
+
+        @Override
+        protected void seed() {
+            userService = bean(UserService.class);
+            fixtures.user("User", "login@bench.local", "correct horse battery staple");
+        }
+    }
+
+    @Benchmark
+    public boolean validPassword(AuthState state) {
+        return state.userService.authenticateUser("login@bench.local", "correct horse battery staple");
+    }
+
+    @Benchmark
+    public boolean unknownEmail(AuthState state) {
+        return state.userService.authenticateUser("nobody@bench.local", "whatever");
+    }
+
+    // Login storm: more callers than hasher threads, so this also shows the pool's queueing
+    @Benchmark
+    @Threads(16)
+    public boolean validPasswordConcurrently(AuthState state) {
+        return state.userService.authenticateUser("login@bench.local", "correct horse battery staple");
+    }
+}
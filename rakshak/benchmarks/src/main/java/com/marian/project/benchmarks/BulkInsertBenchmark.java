@@ -0,0 +1,114 @@
+package com.marian.project.benchmarks;
+
+import com.marian.project.model.TaskRequest;
+import com.marian.project.model.User;
+import com.marian.project.service.BulkInsertService;
+import com.marian.project.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Insert throughput for task requests, per row: the /bulk path (one transaction, pooled ids,
+// JDBC batches) against one createTaskRequest call per row as the single-row endpoint does it.
+// bulkIdentity is the before picture for the id change: the same BulkInsertService chunking in one
+// transaction, but into an IDENTITY-keyed copy of the table, where Hibernate cannot batch the inserts.
+// Absolute numbers on H2 are not MySQL numbers; the ratios between the methods are what to compare.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    public static class InsertState extends ApplicationState {
+
+        TaskService taskService;
+        BulkInsertService bulkInsertService;
+        IdentityTaskRequestRepository identityRepository;
+        TransactionTemplate transactionTemplate;
+        User requester;
+        int baselineRequestId;
+
+        @Override
+        protected void seed() {
+            taskService = bean(TaskService.class);
+            bulkInsertService = bean(BulkInsertService.class);
+            identityRepository = bean(IdentityTaskRequestRepository.class);
+            transactionTemplate = new TransactionTemplate(bean(PlatformTransactionManager.class));
+            requester = fixtures.user("User", "requester@bench.local", "password");
+            baselineRequestId = fixtures.maxTaskRequestId();
+        }
+
+        @TearDown(Level.Iteration)
+        public void truncate() {
+            fixtures.deleteTaskRequestsAfter(baselineRequestId);
+            fixtures.deleteIdentityTaskRequests();
+        }
+
+        List<TaskRequest> newRequests() {
+            List<TaskRequest> requests = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                TaskRequest request = new TaskRequest();
+                request.setUser(requester);
+                request.setRequestTitle("Bulk request " + i);
+                request.setRequestDescription("Seeded by the benchmark fixtures");
+                request.setLocation("Kochi");
+                requests.add(request);
+            }
+            return requests;
+        }
+
+        List<IdentityTaskRequest> newIdentityRequests() {
+            List<IdentityTaskRequest> requests = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                IdentityTaskRequest request = new IdentityTaskRequest();
+                request.setUser(requester);
+                request.setRequestTitle("Bulk request " + i);
+                request.setRequestDescription("Seeded by the benchmark fixtures");
+                request.setLocation("Kochi");
+                requests.add(request);
+            }
+            return requests;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Object bulk(InsertState state) {
+        return state.taskService.createTaskRequests(state.newRequests());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Object bulkIdentity(InsertState state) {
+        return state.transactionTemplate.execute(status -> state.bulkInsertService.insertAll(
+                state.identityRepository, state.newIdentityRequests(), IdentityTaskRequest::getRequestId));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int oneByOne(InsertState state) {
+        int created = 0;
+        for (TaskRequest request : state.newRequests()) {
+            state.taskService.createTaskRequest(request);
+            created++;
+        }
+        return created;
+    }
+}
@@ -0,0 +1,149 @@
+package com.marian.project.benchmarks;
+
+import com.marian.project.model.Resource;
+import com.marian.project.model.ResourceRequest;
+import com.marian.project.model.Task;
+import com.marian.project.model.TaskRequest;
+import com.marian.project.model.User;
+import com.marian.project.repository.ResourceRepository;
+import com.marian.project.repository.ResourceRequestRepository;
+import com.marian.project.repository.TaskRepository;
+import com.marian.project.repository.TaskRequestRepository;
+import com.marian.project.repository.UserRepository;
+import com.marian.project.service.PasswordHasher;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Seed data for the benchmarks, written through the application's own repositories, plus plain
+// JDBC resets so a pool of rows can be reused between iterations without re-inserting it
+public class Fixtures {
+
+    private static final int CHUNK = 1000;
+
+    private final UserRepository userRepository;
+    private final TaskRequestRepository taskRequestRepository;
+    private final TaskRepository taskRepository;
+    private final ResourceRepository resourceRepository;
+    private final ResourceRequestRepository resourceRequestRepository;
+    private final PasswordHasher passwordHasher;
+    private final JdbcTemplate jdbcTemplate;
+
+    public Fixtures(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.taskRequestRepository = context.getBean(TaskRequestRepository.class);
+        this.taskRepository = context.getBean(TaskRepository.class);
+        this.resourceRepository = context.getBean(ResourceRepository.class);
+        this.resourceRequestRepository = context.getBean(ResourceRequestRepository.class);
+        this.passwordHasher = context.getBean(PasswordHasher.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    public User user(String role, String email, String rawPassword) {
+        User user = new User();
+        user.setName(role + " " + email);
+        user.setEmail(email);
+        user.setPassword(passwordHasher.encode(rawPassword));
+        user.setPhoneNumber("9000000000");
+        user.setLocation("Kochi");
+        user.setRole(role);
+        user.setUserStatus("active");
+        user.setLatitude(9.93 + ThreadLocalRandom.current().nextDouble(-0.5, 0.5));
+        user.setLongitude(76.26 + ThreadLocalRandom.current().nextDouble(-0.5, 0.5));
+        return userRepository.save(user);
+    }
+
+    // count approved requests by requester, each with a PENDING, unassigned task; returns the task ids
+    public List<Integer> pendingTasks(User requester, int count) {
+        List<Integer> taskIds = new ArrayList<>(count);
+        for (int start = 0; start < count; start += CHUNK) {
+            int size = Math.min(CHUNK, count - start);
+            List<TaskRequest> requests = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                TaskRequest request = new TaskRequest();
+                request.setUser(requester);
+                request.setRequestTitle("Benchmark task " + (start + i));
+                request.setRequestDescription("Seeded by the benchmark fixtures");
+                request.setLocation("Kochi");
+                request.setLatitude(9.93 + ThreadLocalRandom.current().nextDouble(-0.5, 0.5));
+                request.setLongitude(76.26 + ThreadLocalRandom.current().nextDouble(-0.5, 0.5));
+                request.setStatus(TaskRequest.RequestStatus.APPROVED);
+                requests.add(request);
+            }
+            List<Task> tasks = new ArrayList<>(size);
+            for (TaskRequest request : taskRequestRepository.saveAll(requests)) {
+                Task task = new Task();
+                task.setTaskRequest(request);
+                task.setStatus(Task.TaskStatus.PENDING);
+                task.setPhoto("default_path.jpg");
+                task.setDeadline(LocalDateTime.now().plusDays(7));
+                tasks.add(task);
+            }
+            for (Task task : taskRepository.saveAll(tasks)) {
+                taskIds.add(task.getTaskId());
+            }
+        }
+        return taskIds;
+    }
+
+    // Put every task back to PENDING and unassigned
+    public void reopenTasks() {
+        jdbcTemplate.update("UPDATE tasks SET status = 'PENDING', volunteer_id = NULL");
+    }
+
+    public Resource resource(String name, int availableQuantity) {
+        Resource resource = new Resource();
+        resource.setName(name);
+        resource.setType("Benchmark");
+        resource.setAvailableQuantity(availableQuantity);
+        return resourceRepository.save(resource);
+    }
+
+    // count PENDING requests for quantity units of resource; returns the request ids
+    public List<Long> pendingResourceRequests(User requester, Resource resource, int count, int quantity) {
+        List<Long> requestIds = new ArrayList<>(count);
+        for (int start = 0; start < count; start += CHUNK) {
+            int size = Math.min(CHUNK, count - start);
+            List<ResourceRequest> requests = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ResourceRequest request = new ResourceRequest();
+                request.setUser(requester);
+                request.setResource(resource);
+                request.setLocation("Kochi");
+                request.setStatus("PENDING");
+                request.setRequestDate(LocalDateTime.now());
+                request.setRequestedQuantity(quantity);
+                requests.add(request);
+            }
+            for (ResourceRequest request : resourceRequestRepository.saveAll(requests)) {
+                requestIds.add(request.getRequestId());
+            }
+        }
+        return requestIds;
+    }
+
+    // Put every resource request back to PENDING and refill the resource
+    public void reopenResourceRequests(Resource resource, int availableQuantity) {
+        jdbcTemplate.update("UPDATE resource_request SET status = 'PENDING', allocated_quantity = NULL");
+        jdbcTemplate.update("UPDATE resource SET available_quantity = ? WHERE resource_id = ?",
+                availableQuantity, resource.getResourceId());
+    }
+
+    // Drop task requests created after the given id (bulk insert benchmarks would otherwise grow the table forever)
+    public void deleteTaskRequestsAfter(int requestId) {
+        jdbcTemplate.update("DELETE FROM task_requests WHERE request_id > ?", requestId);
+    }
+
+    public void deleteIdentityTaskRequests() {
+        jdbcTemplate.update("DELETE FROM task_requests_identity");
+    }
+
+    public int maxTaskRequestId() {
+        Integer max = jdbcTemplate.queryForObject("SELECT MAX(request_id) FROM task_requests", Integer.class);
+        return max == null ? 0 : max;
+    }
+}
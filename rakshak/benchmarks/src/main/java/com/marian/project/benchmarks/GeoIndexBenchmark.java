@@ -0,0 +1,109 @@
+package com.marian.project.benchmarks;
+
+import com.marian.project.geo.GeoGridIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// The proximity index behind /api/geo on its own (no Spring, no database): radius and box queries
+// over points spread across India, against the full scan the index replaced, plus the cost of
+// moving a point as tasks are claimed and released.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeoIndexBenchmark {
+
+    private static final double MIN_LAT = 8, MAX_LAT = 35, MIN_LON = 68, MAX_LON = 97;
+
+    @Param({"10000", "100000"})
+    public int points;
+
+    @Param("0.05")
+    public double cellSizeDegrees;
+
+    private GeoGridIndex<Integer> index;
+    private double[] latitudes;
+    private double[] longitudes;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void build() {
+        random = new SplittableRandom(42);
+        index = new GeoGridIndex<>(cellSizeDegrees);
+        latitudes = new double[points];
+        longitudes = new double[points];
+        for (int i = 0; i < points; i++) {
+            latitudes[i] = random.nextDouble(MIN_LAT, MAX_LAT);
+            longitudes[i] = random.nextDouble(MIN_LON, MAX_LON);
+            index.put(i, latitudes[i], longitudes[i]);
+        }
+    }
+
+    @Benchmark
+    public Object nearby5Km() {
+        return index.withinRadius(randomLat(), randomLon(), 5, 50);
+    }
+
+    @Benchmark
+    public Object nearby50Km() {
+        return index.withinRadius(randomLat(), randomLon(), 50, 50);
+    }
+
+    @Benchmark
+    public Object withinBox() {
+        double lat = randomLat();
+        double lon = randomLon();
+        return index.withinBox(lat, lon, lat + 0.5, lon + 0.5, 50);
+    }
+
+    // What a radius search cost before the index: haversine over every point, then sort
+    @Benchmark
+    public Object nearby5KmFullScan() {
+        double lat = randomLat();
+        double lon = randomLon();
+        List<double[]> hits = new ArrayList<>();
+        for (int i = 0; i < points; i++) {
+            double distance = GeoGridIndex.distanceKm(lat, lon, latitudes[i], longitudes[i]);
+            if (distance <= 5) {
+                hits.add(new double[]{i, distance});
+            }
+        }
+        hits.sort(Comparator.comparingDouble(hit -> hit[1]));
+        return hits.size() > 50 ? hits.subList(0, 50) : hits;
+    }
+
+    // A task leaving and re-entering the index (claim, then requeue)
+    @Benchmark
+    public int removeAndPut() {
+        int key = random.nextInt(points);
+        index.remove(key);
+        index.put(key, latitudes[key], longitudes[key]);
+        return key;
+    }
+
+    private double randomLat() {
+        return random.nextDouble(MIN_LAT, MAX_LAT);
+    }
+
+    private double randomLon() {
+        return random.nextDouble(MIN_LON, MAX_LON);
+    }
+}
@@ -0,0 +1,76 @@
+package com.marian.project.benchmarks;
+
+import com.marian.project.model.TaskRequest.RequestStatus;
+import com.marian.project.model.User;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+// Benchmark-only copy of TaskRequest keyed the way task_requests was before pooled ids: an
+// IDENTITY column, so Hibernate has to run every INSERT on its own to read the generated key and
+// cannot batch them. Lives in the benchmarks jar, so only the benchmark profile creates the table.
+@Entity
+@Table(name = "task_requests_identity")
+public class IdentityTaskRequest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "request_id")
+    private int requestId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "request_title", nullable = false, length = 255)
+    private String requestTitle;
+
+    @Column(name = "request_description", nullable = false, length = 1000)
+    private String requestDescription;
+
+    @Column(name = "location", nullable = false, length = 255)
+    private String location;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private RequestStatus status = RequestStatus.PENDING;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public int getRequestId() {
+        return requestId;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public void setRequestTitle(String requestTitle) {
+        this.requestTitle = requestTitle;
+    }
+
+    public void setRequestDescription(String requestDescription) {
+        this.requestDescription = requestDescription;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+}
@@ -0,0 +1,7 @@
+package com.marian.project.benchmarks;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// Picked up by the application's repository scan (com.marian.project and below)
+public interface IdentityTaskRequestRepository extends JpaRepository<IdentityTaskRequest, Integer> {
+}
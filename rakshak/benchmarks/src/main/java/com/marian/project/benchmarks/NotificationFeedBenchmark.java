@@ -0,0 +1,63 @@
+package com.marian.project.benchmarks;
+
+import com.marian.project.model.Notification;
+import com.marian.project.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// NotificationService.getNotificationsForUser and the pre-serialized feed behind
+// /api/notifications/user/{role}; both should be a map lookup once the feed cache is loaded.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NotificationFeedBenchmark {
+
+    private static final String[] ROLES = {"User", "Volunteer", "Admin", "All"};
+
+    public static class FeedState extends ApplicationState {
+
+        @Param({"100", "2000"})
+        public int notifications;
+
+        NotificationService notificationService;
+
+        @Override
+        protected void seed() {
+            notificationService = bean(NotificationService.class);
+            LocalDateTime released = LocalDateTime.now().minusMinutes(1);
+            for (int i = 0; i < notifications; i++) {
+                notificationService.createNotification(new Notification("Benchmark notice " + i,
+                        "Seeded by the benchmark fixtures", i % 10 == 0 ? "Important" : "Information",
+                        ROLES[i % ROLES.length], released, true));
+            }
+        }
+    }
+
+    @Benchmark
+    public Object notificationsForVolunteer(FeedState state) {
+        return state.notificationService.getNotificationsForUser("Volunteer");
+    }
+
+    @Benchmark
+    public Object feedJsonForVolunteer(FeedState state) {
+        return state.notificationService.getFeed("Volunteer").getJson();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object notificationsForVolunteerConcurrently(FeedState state) {
+        return state.notificationService.getNotificationsForUser("Volunteer");
+    }
+}
@@ -0,0 +1,77 @@
+package com.marian.project.benchmarks;
+
+import com.marian.project.model.Resource;
+import com.marian.project.model.User;
+import com.marian.project.service.ResourceRequestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ResourceRequestService.acceptAndAllocateResource: claim the request, take the stock, write the
+// ledger row, all in one transaction. Every request draws on the same resource, so the threaded
+// variant measures how the stock row holds up as a hot spot.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResourceAllocationBenchmark {
+
+    public static class AllocationState extends ApplicationState {
+
+        // Requests reopened before every iteration; keep it above the allocations one iteration makes
+        @Param("20000")
+        public int requests;
+
+        ResourceRequestService resourceRequestService;
+        Resource resource;
+        long[] requestIds;
+        int stock;
+        final AtomicInteger next = new AtomicInteger();
+
+        @Override
+        protected void seed() {
+            resourceRequestService = bean(ResourceRequestService.class);
+            User requester = fixtures.user("User", "requester@bench.local", "password");
+            // Enough stock for every request, so the benchmark measures allocation, not refusal
+            stock = requests * 2;
+            resource = fixtures.resource("Water (litres)", stock);
+            List<Long> ids = fixtures.pendingResourceRequests(requester, resource, requests, 2);
+            requestIds = ids.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        @Setup(Level.Iteration)
+        public void reopen() {
+            fixtures.reopenResourceRequests(resource, stock);
+            next.set(0);
+        }
+    }
+
+    @Benchmark
+    public String allocate(AllocationState state) {
+        return allocateNext(state);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String allocateConcurrently(AllocationState state) {
+        return allocateNext(state);
+    }
+
+    private static String allocateNext(AllocationState state) {
+        long requestId = state.requestIds[state.next.getAndIncrement() % state.requestIds.length];
+        return state.resourceRequestService.acceptAndAllocateResource(requestId);
+    }
+}
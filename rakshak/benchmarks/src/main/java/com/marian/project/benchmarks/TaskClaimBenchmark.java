@@ -0,0 +1,82 @@
+package com.marian.project.benchmarks;
+
+import com.marian.project.model.User;
+import com.marian.project.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// TaskService.acceptTask: one conditional UPDATE plus the in-memory index updates.
+// uncontended: every call claims a different task. contended: CONTENDERS threads go for the same
+// task at once, so one wins and the rest take the 409 path, which is what a popular task sees.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskClaimBenchmark {
+
+    private static final int CONTENDERS = 4;
+
+    public static class ClaimState extends ApplicationState {
+
+        // Tasks reopened before every iteration; keep it above the claims one iteration makes
+        @Param("20000")
+        public int tasks;
+
+        TaskService taskService;
+        long volunteerId;
+        int[] taskIds;
+        final AtomicInteger next = new AtomicInteger();
+
+        @Override
+        protected void seed() {
+            taskService = bean(TaskService.class);
+            User requester = fixtures.user("User", "requester@bench.local", "password");
+            volunteerId = fixtures.user("Volunteer", "volunteer@bench.local", "password").getUserId();
+            List<Integer> ids = fixtures.pendingTasks(requester, tasks);
+            taskIds = ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        @Setup(Level.Iteration)
+        public void reopen() {
+            fixtures.reopenTasks();
+            next.set(0);
+        }
+    }
+
+    @Benchmark
+    public Object uncontended(ClaimState state) {
+        int taskId = state.taskIds[state.next.getAndIncrement() % state.taskIds.length];
+        return claim(state, taskId);
+    }
+
+    @Benchmark
+    @Threads(CONTENDERS)
+    public Object contended(ClaimState state) {
+        int taskId = state.taskIds[(state.next.getAndIncrement() / CONTENDERS) % state.taskIds.length];
+        return claim(state, taskId);
+    }
+
+    private static Object claim(ClaimState state, int taskId) {
+        try {
+            return state.taskService.acceptTask(taskId, state.volunteerId);
+        } catch (ResponseStatusException e) {
+            // Lost the race (or the pool wrapped around); still a full round trip to the database
+            return e;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.marian.project.loadtest;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// In-memory H2 answers in microseconds, so a request thread hardly ever blocks and the server's
+// threading model makes little difference. This adds a fixed sleep before every statement, standing in
+// for the network round trip to MySQL, so the in-process run behaves like a blocking-I/O-heavy server.
+class DatabaseLatency implements BeanPostProcessor {
+
+    private final long latencyNanos;
+
+    DatabaseLatency(long latencyMillis) {
+        this.latencyNanos = TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName + "-latency")
+                    .listener(new SleepingListener())
+                    .build();
+        }
+        return bean;
+    }
+
+    private final class SleepingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(latencyNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.marian.project.loadtest;
+
+import com.marian.project.RakshakApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+// Runs the surge scenario in steps of increasing concurrency and reports latency, errors and the
+// saturation point per endpoint. Without --base-url the application is started in-process on H2
+// (profile "loadtest"); with it, any running instance is tested (it must be safe to seed users into).
+//
+//   mvn compile exec:java -Dexec.args="--steps=10,25,50,100,200 --step-seconds=30"
+//
+// Options (all --name=value): base-url, steps, step-seconds, warmup-seconds, volunteers, requesters,
+// think-ms, timeout-ms, max-error-rate, p99-limit-ms, min-throughput-gain, out, client-threads
+// (platform or virtual) and, for the in-process server only, server-virtual-threads, db-latency-ms and
+// db-pool-size
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        List<Integer> levels = Arrays.stream(option(options, "steps", "10,25,50,100,200").split(","))
+                .map(String::trim).map(Integer::valueOf).toList();
+        Duration stepTime = Duration.ofSeconds(Long.parseLong(option(options, "step-seconds", "30")));
+        Duration warmupTime = Duration.ofSeconds(Long.parseLong(option(options, "warmup-seconds", "15")));
+        Path out = Path.of(option(options, "out", "target/loadtest-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            boolean serverVirtualThreads = Boolean.parseBoolean(option(options, "server-virtual-threads", "false"));
+            long dbLatencyMillis = Long.parseLong(option(options, "db-latency-ms", "0"));
+            SpringApplicationBuilder application = new SpringApplicationBuilder(RakshakApplication.class).profiles("loadtest");
+            if (dbLatencyMillis > 0) {
+                application.initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new DatabaseLatency(dbLatencyMillis)));
+            }
+            // As arguments, so they win over application.properties
+            List<String> serverArgs = new ArrayList<>();
+            serverArgs.add("--spring.threads.virtual.enabled=" + serverVirtualThreads);
+            if (options.containsKey("db-pool-size")) {
+                serverArgs.add("--spring.datasource.hikari.maximum-pool-size=" + options.get("db-pool-size"));
+            }
+            context = application.run(serverArgs.toArray(new String[0]));
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            System.out.println("In-process server: " + (serverVirtualThreads ? "virtual" : "platform")
+                    + " threads, " + dbLatencyMillis + " ms added per SQL statement");
+        }
+        try {
+            RakshakClient client = new RakshakClient(baseUrl,
+                    Duration.ofMillis(Long.parseLong(option(options, "timeout-ms", "10000"))));
+            SurgeScenario scenario = new SurgeScenario(client,
+                    Integer.parseInt(option(options, "volunteers", "200")),
+                    Integer.parseInt(option(options, "requesters", "50")),
+                    Long.parseLong(option(options, "think-ms", "200")),
+                    threadFactory(option(options, "client-threads", "platform")));
+
+            System.out.println("Seeding " + baseUrl + " ...");
+            scenario.seed();
+            System.out.println("Warming up with " + levels.get(0) + " users for " + warmupTime.toSeconds() + " s ...");
+            scenario.run(levels.get(0), warmupTime, null);
+
+            List<StepStats> steps = new ArrayList<>();
+            for (int users : levels) {
+                System.out.println("Step: " + users + " users for " + stepTime.toSeconds() + " s ...");
+                StepStats stats = new StepStats(users);
+                scenario.run(users, stepTime, stats);
+                steps.add(stats);
+            }
+
+            Report report = new Report(steps,
+                    Double.parseDouble(option(options, "max-error-rate", "0.01")),
+                    Double.parseDouble(option(options, "p99-limit-ms", "1000")),
+                    Double.parseDouble(option(options, "min-throughput-gain", "0.05")));
+            System.out.println();
+            report.print(System.out);
+            report.writeCsv(out);
+            System.out.println();
+            System.out.println("Results written to " + out.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    // One thread per virtual user; virtual ones need Java 21 but this module still compiles for 17
+    private static ThreadFactory threadFactory(String kind) {
+        if (kind.equals("platform")) {
+            return Executors.defaultThreadFactory();
+        }
+        if (!kind.equals("virtual")) {
+            throw new IllegalArgumentException("client-threads must be platform or virtual but got " + kind);
+        }
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("--client-threads=virtual needs Java 21 or later", e);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+
+    private static String option(Map<String, String> options, String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+}
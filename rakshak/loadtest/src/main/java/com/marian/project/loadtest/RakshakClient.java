@@ -0,0 +1,170 @@
+package com.marian.project.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marian.project.loadtest.StepStats.Outcome;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// The REST calls the scenario makes, each timed and recorded against its endpoint name. Calls made
+// with a null StepStats (seeding) are not recorded.
+public class RakshakClient {
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public RakshakClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    // Seeding
+
+    public void registerUser(Map<String, Object> user) {
+        send(null, "POST /api/users", post("/api/users", user));
+    }
+
+    public void addResource(String name, String type, int quantity) {
+        send(null, "POST /api/resource-requests/resources", post("/api/resource-requests/resources",
+                Map.of("name", name, "type", type, "availableQuantity", quantity)));
+    }
+
+    public List<Long> resourceIds() {
+        List<Long> ids = new ArrayList<>();
+        readJson(send(null, "GET /api/resource-requests/resources", get("/api/resource-requests/resources")))
+                .ifPresent(resources -> resources.forEach(resource -> ids.add(resource.get("resourceId").asLong())));
+        return ids;
+    }
+
+    // Scenario
+
+    // The user's id, or empty when the login failed
+    public Optional<Integer> login(StepStats stats, String email, String password) {
+        return readJson(send(stats, "POST /api/login", post("/api/login", Map.of("email", email, "password", password))))
+                .map(body -> body.path("userid"))
+                .filter(JsonNode::isInt)
+                .map(JsonNode::asInt);
+    }
+
+    // Conditional poll, the way the notification bell does it; returns the ETag to send next time
+    public String pollNotifications(StepStats stats, String role, String etag) {
+        HttpRequest.Builder request = get("/api/notifications/user/" + role);
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        HttpResponse<byte[]> response = send(stats, "GET /api/notifications/user/{role}", request);
+        return response == null ? etag : response.headers().firstValue("ETag").orElse(etag);
+    }
+
+    public List<Integer> nextAvailableTasks(StepStats stats, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        readJson(send(stats, "GET /api/tasks/available/next", get("/api/tasks/available/next?limit=" + limit)))
+                .ifPresent(tasks -> tasks.forEach(task -> ids.add(task.get("taskId").asInt())));
+        return ids;
+    }
+
+    // True when this volunteer got the task; a 409 (someone else was first) is a conflict, not an error
+    public boolean acceptTask(StepStats stats, int taskId, int volunteerId) {
+        HttpResponse<byte[]> response = send(stats, "POST /api/tasks/{id}/accept",
+                post("/api/tasks/" + taskId + "/accept?volunteerId=" + volunteerId, null), 409);
+        return response != null && response.statusCode() == 200;
+    }
+
+    public Optional<Integer> createTaskRequest(StepStats stats, int userId, double latitude, double longitude) {
+        Map<String, Object> request = Map.of(
+                "user", Map.of("userId", userId),
+                "requestTitle", "Evacuation help needed",
+                "requestDescription", "Family of four stranded by rising water, need boat evacuation",
+                "location", "Aluva",
+                "latitude", latitude,
+                "longitude", longitude);
+        return readJson(send(stats, "POST /api/task-requests", post("/api/task-requests", request)))
+                .map(body -> body.get("requestId").asInt());
+    }
+
+    public void approveTaskRequest(StepStats stats, int requestId) {
+        send(stats, "POST /api/task-requests/{id}/approve", post("/api/task-requests/" + requestId + "/approve", null));
+    }
+
+    public void createResourceRequest(StepStats stats, int userId, long resourceId, int quantity) {
+        send(stats, "POST /api/resource-requests/request", post("/api/resource-requests/request",
+                Map.of("userId", userId, "resourceId", resourceId, "requestedQuantity", quantity, "location", "Aluva")));
+    }
+
+    // Plumbing
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET();
+    }
+
+    private HttpRequest.Builder post(String path, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (body == null) {
+            return request.POST(HttpRequest.BodyPublishers.noBody());
+        }
+        try {
+            return request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request body", e);
+        }
+    }
+
+    // The response, or null when the call failed outright; 2xx, 304 and the expected statuses are not errors
+    private HttpResponse<byte[]> send(StepStats stats, String endpoint, HttpRequest.Builder request, int... expectedStatuses) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = null;
+        Outcome outcome;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            outcome = outcomeOf(response.statusCode(), expectedStatuses);
+        } catch (IOException e) {
+            outcome = Outcome.ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (stats != null) {
+            stats.record(endpoint, System.nanoTime() - start, outcome);
+        }
+        return outcome == Outcome.ERROR ? null : response;
+    }
+
+    private static Outcome outcomeOf(int status, int... expectedStatuses) {
+        if ((status >= 200 && status < 300) || status == 304) {
+            return Outcome.OK;
+        }
+        for (int expected : expectedStatuses) {
+            if (status == expected) {
+                return Outcome.CONFLICT;
+            }
+        }
+        return Outcome.ERROR;
+    }
+
+    private Optional<JsonNode> readJson(HttpResponse<byte[]> response) {
+        if (response == null || response.statusCode() != 200 || response.body().length == 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readTree(response.body()));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+}
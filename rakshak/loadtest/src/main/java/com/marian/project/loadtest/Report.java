@@ -0,0 +1,110 @@
+package com.marian.project.loadtest;
+
+import com.marian.project.loadtest.StepStats.EndpointStats;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Per-step, per-endpoint table (throughput, p50/p99, requests in flight, error and conflict rates) and the saturation
+// point of each endpoint: the first step where it fails the error or p99 limit, or where adding
+// users no longer adds throughput.
+public class Report {
+
+    private final List<StepStats> steps;
+    private final double maxErrorRate;
+    private final double p99LimitMillis;
+    private final double minThroughputGain;
+
+    public Report(List<StepStats> steps, double maxErrorRate, double p99LimitMillis, double minThroughputGain) {
+        this.steps = steps;
+        this.maxErrorRate = maxErrorRate;
+        this.p99LimitMillis = p99LimitMillis;
+        this.minThroughputGain = minThroughputGain;
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%6s  %-40s %9s %9s %9s %9s %9s %9s %9s%n",
+                "users", "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "in flight", "errors", "conflicts");
+        for (StepStats step : steps) {
+            for (Map.Entry<String, EndpointStats> entry : step.getEndpoints().entrySet()) {
+                EndpointStats stats = entry.getValue();
+                out.printf(Locale.ROOT, "%6d  %-40s %9d %9.1f %9.1f %9.1f %9.1f %8.2f%% %8.2f%%%n",
+                        step.getVirtualUsers(), entry.getKey(), stats.getCount(), stats.getCount() / step.getSeconds(),
+                        stats.percentileMillis(50), stats.percentileMillis(99), stats.getTotalSeconds() / step.getSeconds(),
+                        100 * stats.getErrorRate(), 100 * rate(stats.getConflicts(), stats.getCount()));
+            }
+            out.println();
+        }
+
+        out.println("Saturation point per endpoint:");
+        for (Map.Entry<String, String> entry : saturation().entrySet()) {
+            out.printf("  %-40s %s%n", entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("users,endpoint,requests,seconds,requests_per_second,p50_ms,p90_ms,p99_ms,max_ms,in_flight,errors,conflicts\n");
+            for (StepStats step : steps) {
+                for (Map.Entry<String, EndpointStats> entry : step.getEndpoints().entrySet()) {
+                    EndpointStats stats = entry.getValue();
+                    writer.write(String.format(Locale.ROOT, "%d,\"%s\",%d,%.3f,%.2f,%.3f,%.3f,%.3f,%.3f,%.2f,%d,%d%n",
+                            step.getVirtualUsers(), entry.getKey(), stats.getCount(), step.getSeconds(),
+                            stats.getCount() / step.getSeconds(), stats.percentileMillis(50), stats.percentileMillis(90),
+                            stats.percentileMillis(99), stats.percentileMillis(100), stats.getTotalSeconds() / step.getSeconds(),
+                            stats.getErrors(), stats.getConflicts()));
+                }
+            }
+        }
+    }
+
+    // endpoint -> where it saturated and why, or that it held up to the last step
+    Map<String, String> saturation() {
+        Set<String> endpoints = new LinkedHashSet<>();
+        steps.forEach(step -> endpoints.addAll(step.getEndpoints().keySet()));
+
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String endpoint : endpoints) {
+            String verdict = null;
+            double previousThroughput = 0;
+            for (StepStats step : steps) {
+                EndpointStats stats = step.getEndpoints().get(endpoint);
+                if (stats == null || stats.getCount() == 0) {
+                    continue;
+                }
+                double throughput = stats.getCount() / step.getSeconds();
+                String reason = null;
+                if (stats.getErrorRate() > maxErrorRate) {
+                    reason = String.format(Locale.ROOT, "error rate %.2f%%", 100 * stats.getErrorRate());
+                } else if (stats.percentileMillis(99) > p99LimitMillis) {
+                    reason = String.format(Locale.ROOT, "p99 %.0f ms", stats.percentileMillis(99));
+                } else if (previousThroughput > 0 && throughput < previousThroughput * (1 + minThroughputGain)) {
+                    reason = String.format(Locale.ROOT, "throughput flat (%.1f -> %.1f req/s)", previousThroughput, throughput);
+                }
+                if (reason != null) {
+                    verdict = "saturated at " + step.getVirtualUsers() + " users: " + reason;
+                    break;
+                }
+                previousThroughput = throughput;
+            }
+            result.put(endpoint, verdict != null ? verdict
+                    : "held up to " + steps.get(steps.size() - 1).getVirtualUsers() + " users");
+        }
+        return result;
+    }
+
+    private static double rate(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+}
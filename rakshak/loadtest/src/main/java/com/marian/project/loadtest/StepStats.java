@@ -0,0 +1,126 @@
+package com.marian.project.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Everything measured during one load step (a fixed number of virtual users for a fixed time),
+// per endpoint. Every latency is kept, so percentiles are exact rather than bucketed.
+public class StepStats {
+
+    public enum Outcome {
+        OK,
+        // An answer the scenario expects under contention (e.g. 409 when another volunteer got the task first)
+        CONFLICT,
+        // 5xx, an unexpected 4xx, a timeout or a broken connection
+        ERROR
+    }
+
+    // Row name for the totals over every endpoint
+    public static final String ALL = "ALL";
+
+    private final int virtualUsers;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    public StepStats(int virtualUsers) {
+        this.virtualUsers = virtualUsers;
+    }
+
+    public void started() {
+        startNanos = System.nanoTime();
+    }
+
+    public void finished() {
+        endNanos = System.nanoTime();
+    }
+
+    public void record(String endpoint, long latencyNanos, Outcome outcome) {
+        endpoints.computeIfAbsent(endpoint, name -> new EndpointStats()).add(latencyNanos, outcome);
+    }
+
+    public int getVirtualUsers() {
+        return virtualUsers;
+    }
+
+    public double getSeconds() {
+        return (endNanos - startNanos) / 1e9;
+    }
+
+    // Endpoints in name order, plus an "ALL" row over every request of the step
+    public Map<String, EndpointStats> getEndpoints() {
+        Map<String, EndpointStats> sorted = new TreeMap<>(endpoints);
+        EndpointStats all = new EndpointStats();
+        endpoints.values().forEach(all::addAll);
+        sorted.put(ALL, all);
+        return sorted;
+    }
+
+    public static final class EndpointStats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long totalNanos;
+        private long conflicts;
+        private long errors;
+
+        synchronized void add(long latencyNanos, Outcome outcome) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            totalNanos += latencyNanos;
+            if (outcome == Outcome.CONFLICT) {
+                conflicts++;
+            } else if (outcome == Outcome.ERROR) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(EndpointStats other) {
+            synchronized (other) {
+                if (count + other.count > latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count + other.count);
+                }
+                System.arraycopy(other.latencies, 0, latencies, count, other.count);
+                count += other.count;
+                totalNanos += other.totalNanos;
+                conflicts += other.conflicts;
+                errors += other.errors;
+            }
+        }
+
+        public synchronized int getCount() {
+            return count;
+        }
+
+        // Sum of all latencies; divided by the step time it is the average number of requests in flight
+        public synchronized double getTotalSeconds() {
+            return totalNanos / 1e9;
+        }
+
+        public synchronized long getConflicts() {
+            return conflicts;
+        }
+
+        public synchronized long getErrors() {
+            return errors;
+        }
+
+        public synchronized double getErrorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        // Nearest-rank percentile in milliseconds, e.g. percentileMillis(99)
+        public synchronized double percentileMillis(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100 * count);
+            return sorted[Math.max(0, Math.min(count, rank) - 1)] / 1e6;
+        }
+    }
+}
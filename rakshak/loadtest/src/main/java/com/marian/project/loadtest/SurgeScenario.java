@@ -0,0 +1,158 @@
+package com.marian.project.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// A disaster has just struck: volunteers log in and keep polling their notifications, requests for
+// help pour in and get approved, every volunteer goes for the newest tasks at once, and resources
+// are requested. Each virtual user loops over that mix with a short random think time until the step ends.
+public class SurgeScenario {
+
+    // Relative weights of the actions a virtual user picks from on every loop
+    private static final int POLL = 45, CLAIM = 20, LOGIN = 15, RESOURCE = 10, REPORT = 10;
+    private static final String PASSWORD = "surge-password";
+
+    private final RakshakClient client;
+    private final int volunteers;
+    private final int requesters;
+    private final long thinkMillis;
+    private final ThreadFactory threadFactory;
+
+    private final List<Account> volunteerAccounts = new ArrayList<>();
+    private final List<Account> requesterAccounts = new ArrayList<>();
+    private List<Long> resourceIds = new ArrayList<>();
+
+    public SurgeScenario(RakshakClient client, int volunteers, int requesters, long thinkMillis, ThreadFactory threadFactory) {
+        this.client = client;
+        this.volunteers = volunteers;
+        this.requesters = requesters;
+        this.thinkMillis = thinkMillis;
+        this.threadFactory = threadFactory;
+    }
+
+    // Register the accounts and resources through the API and learn their ids (not measured)
+    public void seed() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int i = 0; i < volunteers; i++) {
+                String email = "volunteer" + i + "@surge.local";
+                pool.execute(() -> client.registerUser(user("Volunteer", email)));
+            }
+            for (int i = 0; i < requesters; i++) {
+                String email = "user" + i + "@surge.local";
+                pool.execute(() -> client.registerUser(user("User", email)));
+            }
+            for (String name : new String[]{"Drinking water", "Food kits", "Blankets", "First aid kits", "Tarpaulins"}) {
+                pool.execute(() -> client.addResource(name, "Relief", 1_000_000));
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.MINUTES);
+        }
+
+        for (int i = 0; i < volunteers; i++) {
+            login("volunteer" + i + "@surge.local").ifPresent(volunteerAccounts::add);
+        }
+        for (int i = 0; i < requesters; i++) {
+            login("user" + i + "@surge.local").ifPresent(requesterAccounts::add);
+        }
+        resourceIds = client.resourceIds();
+        if (volunteerAccounts.isEmpty() || requesterAccounts.isEmpty() || resourceIds.isEmpty()) {
+            throw new IllegalStateException("Seeding failed: " + volunteerAccounts.size() + " volunteers, "
+                    + requesterAccounts.size() + " requesters, " + resourceIds.size() + " resources could be used");
+        }
+    }
+
+    // Run virtualUsers concurrent users for the given time; stats may be null for an unrecorded warm-up
+    public void run(int virtualUsers, Duration duration, StepStats stats) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> threads = new ArrayList<>(virtualUsers);
+        if (stats != null) {
+            stats.started();
+        }
+        for (int i = 0; i < virtualUsers; i++) {
+            Account volunteer = volunteerAccounts.get(i % volunteerAccounts.size());
+            Account requester = requesterAccounts.get(i % requesterAccounts.size());
+            Thread thread = threadFactory.newThread(() -> virtualUser(volunteer, requester, deadline, stats));
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (stats != null) {
+            stats.finished();
+        }
+    }
+
+    private void virtualUser(Account volunteer, Account requester, long deadline, StepStats stats) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String etag = null;
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            int pick = random.nextInt(POLL + CLAIM + LOGIN + RESOURCE + REPORT);
+            if ((pick -= POLL) < 0) {
+                etag = client.pollNotifications(stats, "Volunteer", etag);
+            } else if ((pick -= CLAIM) < 0) {
+                List<Integer> taskIds = client.nextAvailableTasks(stats, 5);
+                if (!taskIds.isEmpty()) {
+                    client.acceptTask(stats, taskIds.get(random.nextInt(taskIds.size())), volunteer.userId);
+                }
+            } else if ((pick -= LOGIN) < 0) {
+                client.login(stats, volunteer.email, PASSWORD);
+            } else if ((pick -= RESOURCE) < 0) {
+                client.createResourceRequest(stats, requester.userId,
+                        resourceIds.get(random.nextInt(resourceIds.size())), 1 + random.nextInt(5));
+            } else {
+                // Around Aluva, where the water is rising
+                client.createTaskRequest(stats, requester.userId,
+                                10.10 + random.nextDouble(-0.2, 0.2), 76.35 + random.nextDouble(-0.2, 0.2))
+                        .ifPresent(requestId -> client.approveTaskRequest(stats, requestId));
+            }
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(random.nextLong(thinkMillis * 2 + 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private Optional<Account> login(String email) {
+        return client.login(null, email, PASSWORD).map(userId -> new Account(email, userId));
+    }
+
+    private static Map<String, Object> user(String role, String email) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("name", role + " " + email.substring(0, email.indexOf('@')));
+        user.put("email", email);
+        user.put("password", PASSWORD);
+        user.put("phoneNumber", "9000000000");
+        user.put("location", "Aluva");
+        user.put("role", role);
+        user.put("userStatus", "active");
+        user.put("latitude", 10.10 + random.nextDouble(-0.3, 0.3));
+        user.put("longitude", 76.35 + random.nextDouble(-0.3, 0.3));
+        return user;
+    }
+
+    private static final class Account {
+        private final String email;
+        private final int userId;
+
+        private Account(String email, int userId) {
+            this.email = email;
+            this.userId = userId;
+        }
+    }
+}
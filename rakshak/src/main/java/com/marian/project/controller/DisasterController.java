@@ -1,11 +1,15 @@
 package com.marian.project.controller;
 
+import com.marian.project.dto.BulkCreateResultDTO;
+import com.marian.project.dto.PageResponse;
 import com.marian.project.model.Disaster;
 import com.marian.project.service.DisasterService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -26,6 +30,12 @@ public class DisasterController {
         return new ResponseEntity<>(createdDisaster, HttpStatus.CREATED);
     }
 
+    // Create many disasters at once (up to rakshak.bulk.max-rows)
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResultDTO<Long>> createDisasters(@RequestBody List<Disaster> disasters) {
+        return new ResponseEntity<>(disasterService.createDisasters(disasters), HttpStatus.CREATED);
+    }
+
     // Get all disasters
     @GetMapping
     public ResponseEntity<List<Disaster>> getAllDisasters() {
@@ -33,6 +43,20 @@ public class DisasterController {
         return new ResponseEntity<>(disasters, HttpStatus.OK);
     }
 
+    // Get one page of disasters, filtered and ordered newest first (pass nextCursor back as cursor)
+    @GetMapping("/page")
+    public ResponseEntity<PageResponse<Disaster>> getDisasterPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Disaster.Status status,
+            @RequestParam(required = false) Disaster.Severity severity,
+            @RequestParam(required = false) Disaster.DisasterType type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        PageResponse<Disaster> page = disasterService.getDisasterPage(cursor, status, severity, type, from, to, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
     // Get a single disaster by ID
     @GetMapping("/{id}")
     public ResponseEntity<Disaster> getDisasterById(@PathVariable Long id) {
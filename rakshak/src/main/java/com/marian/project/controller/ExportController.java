@@ -0,0 +1,71 @@
+package com.marian.project.controller;
+
+import com.marian.project.service.ExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+// Bulk export for post-incident reporting, streamed row by row (see ExportService)
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // dataset = resource-requests | task-requests | tasks | disasters; from / to filter on creation time
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ExportService.Dataset selected;
+        ExportService.Format selectedFormat;
+        try {
+            selected = ExportService.Dataset.fromPath(dataset);
+            selectedFormat = ExportService.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown dataset or format");
+        }
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                exportService.export(selected, selectedFormat, from, to, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(selected, selectedFormat, from, to, out);
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        String extension = selectedFormat == ExportService.Format.CSV ? ".csv" : ".ndjson";
+        headers.setContentType(selectedFormat == ExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(selected.getFileName() + extension)
+                .build());
+        if (gzip) {
+            // Transfer encoding only: clients unpack it transparently and save the plain file
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+}
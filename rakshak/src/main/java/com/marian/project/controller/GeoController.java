@@ -0,0 +1,63 @@
+package com.marian.project.controller;
+
+import com.marian.project.dto.GeoResultDTO;
+import com.marian.project.dto.TaskDTO;
+import com.marian.project.model.Disaster;
+import com.marian.project.model.Task;
+import com.marian.project.service.GeoSearchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/geo")
+public class GeoController {
+
+    private final GeoSearchService geoSearchService;
+
+    public GeoController(GeoSearchService geoSearchService) {
+        this.geoSearchService = geoSearchService;
+    }
+
+    // Open tasks within radiusKm of a point, nearest first
+    @GetMapping("/tasks/nearby")
+    public ResponseEntity<List<GeoResultDTO<TaskDTO>>> getTasksNearby(@RequestParam double lat, @RequestParam double lon,
+                                                                      @RequestParam(defaultValue = "5") double radiusKm,
+                                                                      @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(toTaskDTOs(geoSearchService.findTasksNearby(lat, lon, radiusKm, limit)));
+    }
+
+    // Open tasks inside a bounding box (minLon > maxLon crosses the antimeridian)
+    @GetMapping("/tasks/within")
+    public ResponseEntity<List<GeoResultDTO<TaskDTO>>> getTasksWithin(@RequestParam double minLat, @RequestParam double minLon,
+                                                                      @RequestParam double maxLat, @RequestParam double maxLon,
+                                                                      @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(toTaskDTOs(geoSearchService.findTasksWithin(minLat, minLon, maxLat, maxLon, limit)));
+    }
+
+    // Active disasters within radiusKm of a point, nearest first
+    @GetMapping("/disasters/nearby")
+    public ResponseEntity<List<GeoResultDTO<Disaster>>> getDisastersNearby(@RequestParam double lat, @RequestParam double lon,
+                                                                           @RequestParam(defaultValue = "50") double radiusKm,
+                                                                           @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(geoSearchService.findDisastersNearby(lat, lon, radiusKm, limit));
+    }
+
+    // Active disasters inside a bounding box
+    @GetMapping("/disasters/within")
+    public ResponseEntity<List<GeoResultDTO<Disaster>>> getDisastersWithin(@RequestParam double minLat, @RequestParam double minLon,
+                                                                           @RequestParam double maxLat, @RequestParam double maxLon,
+                                                                           @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(geoSearchService.findDisastersWithin(minLat, minLon, maxLat, maxLon, limit));
+    }
+
+    private static List<GeoResultDTO<TaskDTO>> toTaskDTOs(List<GeoResultDTO<Task>> results) {
+        return results.stream()
+                .map(result -> new GeoResultDTO<>(TaskDTO.of(result.getItem()), result.getDistanceKm()))
+                .toList();
+    }
+}
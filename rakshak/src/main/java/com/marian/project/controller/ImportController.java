@@ -0,0 +1,40 @@
+package com.marian.project.controller;
+
+import com.marian.project.dto.ImportJobDTO;
+import com.marian.project.service.ImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+// Bulk onboarding from CSV / NDJSON files. Uploads return 202 with a job; poll the job for progress.
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    // format = csv | ndjson; taken from the file extension when omitted
+    @PostMapping("/resources")
+    public ResponseEntity<ImportJobDTO> importResources(@RequestParam("file") MultipartFile file,
+                                                        @RequestParam(required = false) String format) {
+        return new ResponseEntity<>(importService.importResources(file, format), HttpStatus.ACCEPTED);
+    }
+
+    // Rows without a role get defaultRole (volunteer rosters by default)
+    @PostMapping("/users")
+    public ResponseEntity<ImportJobDTO> importUsers(@RequestParam("file") MultipartFile file,
+                                                    @RequestParam(required = false) String format,
+                                                    @RequestParam(defaultValue = "Volunteer") String defaultRole) {
+        return new ResponseEntity<>(importService.importUsers(file, format, defaultRole), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobDTO> getImportJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(importService.getJob(jobId));
+    }
+}
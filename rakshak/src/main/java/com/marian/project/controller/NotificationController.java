@@ -1,12 +1,16 @@
 package com.marian.project.controller;
 
 import com.marian.project.model.Notification;
+import com.marian.project.service.NotificationFeedCache;
 import com.marian.project.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -21,10 +25,28 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.createNotification(notification));
     }
 
-    // Fetch notifications for a specific role
+    // Fetch notifications for a specific role; the body is pre-serialized and an unchanged feed answers 304
     @GetMapping("/user/{role}")
-    public ResponseEntity<List<Notification>> getNotificationsForUser(@PathVariable String role) {
-        return ResponseEntity.ok(notificationService.getNotificationsForUser(role));
+    public ResponseEntity<byte[]> getNotificationsForUser(@PathVariable String role,
+                                                          @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        NotificationFeedCache.Feed feed = notificationService.getFeed(role);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(feed.getEtag()) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(feed.getEtag()).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(feed.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(feed.getJson());
+    }
+
+    // Push stream of notifications for a role (Server-Sent Events); browsers resend Last-Event-ID on reconnect.
+    // token is the streamToken from login; without it only the role's broadcasts are sent, never task offers.
+    @GetMapping(path = "/stream/{role}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@PathVariable String role,
+                                          @RequestParam(required = false) String token,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificationService.subscribe(role, token, lastEventId);
     }
 
     // Update an existing notification
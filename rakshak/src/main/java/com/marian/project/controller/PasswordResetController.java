@@ -4,7 +4,6 @@ import java.time.LocalDateTime;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -13,8 +12,8 @@ import org.springframework.web.bind.annotation.RestController;
 import com.marian.project.model.PasswordResetToken;
 import com.marian.project.model.User;
 import com.marian.project.repository.PasswordResetTokenRepository;
-import com.marian.project.repository.UserRepository;
 import com.marian.project.service.PasswordResetService;
+import com.marian.project.service.UserService;
 
 @RestController
 @RequestMapping("/auth")
@@ -27,7 +26,7 @@ public class PasswordResetController {
     private PasswordResetTokenRepository tokenRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserService userService;
 
     @PostMapping("/forgot-password")
     public ResponseEntity<String> forgotPassword(@RequestParam String email) {
@@ -45,8 +44,7 @@ public class PasswordResetController {
         }
 
         User user = resetToken.getUser();
-        user.setPassword(new BCryptPasswordEncoder().encode(newPassword));
-        userRepository.save(user);
+        userService.updatePassword(user, newPassword);
 
         tokenRepository.delete(resetToken);
         return ResponseEntity.ok("Password successfully reset");
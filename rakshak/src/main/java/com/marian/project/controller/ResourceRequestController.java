@@ -1,15 +1,23 @@
 package com.marian.project.controller;
 
 
+import com.marian.project.dto.BulkCreateResultDTO;
+import com.marian.project.dto.PageResponse;
 import com.marian.project.dto.ResourceDTO;
+import com.marian.project.dto.ResourceRequestBatchDTO;
+import com.marian.project.dto.ResourceRequestBatchResultDTO;
 import com.marian.project.dto.ResourceRequestDTO;
 import com.marian.project.model.Resource;
 import com.marian.project.model.ResourceRequest;
+import com.marian.project.model.ResourceStockLedger;
+import com.marian.project.service.ResourceBatchAllocationService;
 import com.marian.project.service.ResourceRequestService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,6 +28,9 @@ public class ResourceRequestController {
     @Autowired
     private ResourceRequestService resourceRequestService;
 
+    @Autowired
+    private ResourceBatchAllocationService batchAllocationService;
+
     // Endpoint to create a resource request with JSON input
     @PostMapping("/request")
     public String createResourceRequest(@RequestBody ResourceRequestDTO resourceRequestDTO) {
@@ -27,7 +38,10 @@ public class ResourceRequestController {
                 resourceRequestDTO.getUserId(),
                 resourceRequestDTO.getResourceId(),
                 resourceRequestDTO.getLocation(),
-                resourceRequestDTO.getRequestedQuantity()
+                resourceRequestDTO.getLatitude(),
+                resourceRequestDTO.getLongitude(),
+                resourceRequestDTO.getRequestedQuantity(),
+                resourceRequestDTO.getSeverity()
         );
     }
 
@@ -47,6 +61,12 @@ public class ResourceRequestController {
         return resourceRequestService.acceptAndAllocateResource(requestId);
     }
 
+    // Endpoint for admin to allocate or reject many resource requests at once; returns one result per request id
+    @PostMapping("/batch")
+    public List<ResourceRequestBatchResultDTO> processBatch(@RequestBody ResourceRequestBatchDTO batch) {
+        return batchAllocationService.process(batch);
+    }
+
     // Endpoint to get the status of a user's resource requests
     @GetMapping("/user/{userId}")
     public List<ResourceRequestDTO> getUserResourceRequests(@PathVariable Long userId) {
@@ -62,7 +82,18 @@ public class ResourceRequestController {
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
-    
+
+    // Endpoint to get one page of resource requests, filtered and ordered newest first (for admin view)
+    @GetMapping("/admin/page")
+    public PageResponse<ResourceRequestDTO> getResourceRequestPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        return resourceRequestService.getResourceRequestPage(cursor, status, from, to, limit)
+                .map(this::convertToDTO);
+    }
  
     // Endpoint to replenish resource quantity (admin functionality)
     @PutMapping("/replenish/{resourceId}")
@@ -70,6 +101,14 @@ public class ResourceRequestController {
         return resourceRequestService.replenishResourceQuantity(resourceId, resourceRequestDTO.getQuantityToAdd());
     }
 
+    // Endpoint to page through a resource's stock movements (allocations, replenishments), newest first
+    @GetMapping("/resources/{resourceId}/ledger")
+    public PageResponse<ResourceStockLedger> getResourceLedger(@PathVariable Long resourceId,
+                                                               @RequestParam(required = false) Long cursor,
+                                                               @RequestParam(required = false) Integer limit) {
+        return resourceRequestService.getResourceLedgerPage(resourceId, cursor, limit);
+    }
+
     // Method to convert ResourceRequest entity to ResourceRequestDTO
     private ResourceRequestDTO convertToDTO(ResourceRequest resourceRequest) {
         ResourceRequestDTO dto = new ResourceRequestDTO();
@@ -80,6 +119,10 @@ public class ResourceRequestController {
         dto.setRequestedQuantity(resourceRequest.getRequestedQuantity());
         dto.setStatus(resourceRequest.getStatus());  // Correctly mapping the status
         dto.setLocation(resourceRequest.getLocation());  // Correctly mapping the location
+        dto.setLatitude(resourceRequest.getLatitude());
+        dto.setLongitude(resourceRequest.getLongitude());
+        dto.setSeverity(resourceRequest.getSeverity());
+        dto.setAllocatedQuantity(resourceRequest.getAllocatedQuantity());
         return dto;
     }
     
@@ -96,6 +139,12 @@ public class ResourceRequestController {
         return resourceRequestService.addResource(resourceDTO);  // Add resource using ResourceService
     }
 
+    // Endpoint to add many resources at once (up to rakshak.bulk.max-rows)
+    @PostMapping("/resources/bulk")
+    public BulkCreateResultDTO<Long> addResources(@RequestBody List<ResourceDTO> resourceDTOs) {
+        return resourceRequestService.addResources(resourceDTOs);
+    }
+
     // Endpoint to delete a resource
     @DeleteMapping("/resources/{resourceId}")
     public String deleteResource(@PathVariable Long resourceId) {
@@ -0,0 +1,54 @@
+package com.marian.project.controller;
+
+import com.marian.project.service.GeoSearchService;
+import com.marian.project.service.NotificationReleaseScheduler;
+import com.marian.project.service.PasswordHasher;
+import com.marian.project.service.TaskDeadlineSweeper;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/system")
+public class SystemStatsController {
+
+    private final PasswordHasher passwordHasher;
+    private final NotificationReleaseScheduler notificationReleaseScheduler;
+    private final GeoSearchService geoSearchService;
+    private final TaskDeadlineSweeper taskDeadlineSweeper;
+
+    public SystemStatsController(PasswordHasher passwordHasher, NotificationReleaseScheduler notificationReleaseScheduler,
+                                 GeoSearchService geoSearchService, TaskDeadlineSweeper taskDeadlineSweeper) {
+        this.passwordHasher = passwordHasher;
+        this.notificationReleaseScheduler = notificationReleaseScheduler;
+        this.geoSearchService = geoSearchService;
+        this.taskDeadlineSweeper = taskDeadlineSweeper;
+    }
+
+    // Queue depth, rejections and hash latency of the BCrypt pool
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHasher.getStats());
+    }
+
+    // Pending scheduled notifications and how late releases fire
+    @GetMapping("/notification-releases")
+    public ResponseEntity<Map<String, Object>> getNotificationReleaseStats() {
+        return ResponseEntity.ok(notificationReleaseScheduler.getStats());
+    }
+
+    // Size of the spatial indexes behind /api/geo
+    @GetMapping("/geo-index")
+    public ResponseEntity<Map<String, Object>> getGeoIndexStats() {
+        return ResponseEntity.ok(geoSearchService.getStats());
+    }
+
+    // Duration and row counts of the last overdue-task sweep, plus running totals
+    @GetMapping("/task-sweeper")
+    public ResponseEntity<Map<String, Object>> getTaskSweeperStats() {
+        return ResponseEntity.ok(taskDeadlineSweeper.getStats());
+    }
+}
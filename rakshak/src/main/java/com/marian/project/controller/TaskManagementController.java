@@ -1,7 +1,14 @@
 package com.marian.project.controller;
 
+import com.marian.project.dto.BulkCreateResultDTO;
+import com.marian.project.dto.PageResponse;
+import com.marian.project.dto.TaskDTO;
+import com.marian.project.dto.TaskOfferDTO;
+import com.marian.project.dto.TaskRequestDTO;
+import com.marian.project.dto.VolunteerMatchDTO;
 import com.marian.project.model.Task;
 import com.marian.project.model.Task.TaskStatus;
+import com.marian.project.model.TaskRemark;
 import com.marian.project.model.TaskRequest;
 import com.marian.project.model.TaskRequest.RequestStatus;
 import com.marian.project.model.User;
@@ -11,10 +18,12 @@ import com.marian.project.service.TaskService;
 import jakarta.persistence.EntityNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -26,40 +35,56 @@ public class TaskManagementController {
 
     // Task Request Endpoints
     @PostMapping("/api/task-requests")
-    public ResponseEntity<TaskRequest> createTaskRequest(@RequestBody TaskRequest taskRequest) {
+    public ResponseEntity<TaskRequestDTO> createTaskRequest(@RequestBody TaskRequest taskRequest) {
         TaskRequest createdRequest = taskService.createTaskRequest(taskRequest);
-        return ResponseEntity.ok(createdRequest);
+        return ResponseEntity.ok(TaskRequestDTO.of(createdRequest));
+    }
+
+    // Create many task requests at once (up to rakshak.bulk.max-rows)
+    @PostMapping("/api/task-requests/bulk")
+    public ResponseEntity<BulkCreateResultDTO<Integer>> createTaskRequests(@RequestBody List<TaskRequest> taskRequests) {
+        return ResponseEntity.ok(taskService.createTaskRequests(taskRequests));
     }
 
     @GetMapping("/api/task-requests")
-    public ResponseEntity<List<TaskRequest>> getAllTaskRequests() {
+    public ResponseEntity<List<TaskRequestDTO>> getAllTaskRequests() {
         List<TaskRequest> taskRequests = taskService.getAllTaskRequests();
-        return ResponseEntity.ok(taskRequests);
+        return ResponseEntity.ok(toRequestDTOs(taskRequests));
+    }
+
+    @GetMapping("/api/task-requests/page")
+    public ResponseEntity<PageResponse<TaskRequestDTO>> getTaskRequestPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) RequestStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.getTaskRequestPage(cursor, status, from, to, limit).map(TaskRequestDTO::of));
     }
 
     @GetMapping("/api/task-requests/user/{userId}")
-    public ResponseEntity<List<TaskRequest>> getTaskRequestsByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<TaskRequestDTO>> getTaskRequestsByUser(@PathVariable Long userId) {
         List<TaskRequest> taskRequests = taskService.getTaskRequestsByUser(userId);
-        return ResponseEntity.ok(taskRequests);
+        return ResponseEntity.ok(toRequestDTOs(taskRequests));
     }
 
 
     @GetMapping("/api/task-requests/status/{status}")
-    public ResponseEntity<List<TaskRequest>> getTaskRequestsByStatus(@PathVariable RequestStatus status) {
+    public ResponseEntity<List<TaskRequestDTO>> getTaskRequestsByStatus(@PathVariable RequestStatus status) {
         List<TaskRequest> taskRequests = taskService.getTaskRequestsByStatus(status);
-        return ResponseEntity.ok(taskRequests);
+        return ResponseEntity.ok(toRequestDTOs(taskRequests));
     }
 
     @PostMapping("/api/task-requests/{requestId}/approve")
-    public ResponseEntity<Task> approveTaskRequest(@PathVariable Integer requestId) {
+    public ResponseEntity<TaskDTO> approveTaskRequest(@PathVariable Integer requestId) {
         Task createdTask = taskService.approveTaskRequest(requestId);
-        return ResponseEntity.ok(createdTask);
+        return ResponseEntity.ok(TaskDTO.of(createdTask));
     }
 
     @PostMapping("/api/task-requests/{requestId}/reject")
-    public ResponseEntity<TaskRequest> rejectTaskRequest(@PathVariable Integer requestId) {
+    public ResponseEntity<TaskRequestDTO> rejectTaskRequest(@PathVariable Integer requestId) {
         TaskRequest rejectedRequest = taskService.rejectTaskRequest(requestId);
-        return ResponseEntity.ok(rejectedRequest);
+        return ResponseEntity.ok(TaskRequestDTO.of(rejectedRequest));
     }
 
     @DeleteMapping("/api/task-requests/{requestId}")
@@ -70,45 +95,65 @@ public class TaskManagementController {
 
  // Task Endpoints
     @GetMapping("/api/tasks/available")
-    public ResponseEntity<List<Task>> getAvailableTasks() {
+    public ResponseEntity<List<TaskDTO>> getAvailableTasks() {
         List<Task> tasks = taskService.getAvailableTasks();
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok(toTaskDTOs(tasks));
+    }
+
+    // Tasks the matching engine has offered to a volunteer (also pushed live as "task-offer" events)
+    @GetMapping("/api/tasks/offers/{volunteerId}")
+    public ResponseEntity<List<TaskOfferDTO>> getTaskOffers(@PathVariable Long volunteerId) {
+        return ResponseEntity.ok(taskService.getTaskOffers(volunteerId));
+    }
+
+    // Ranked volunteers for a task, as the matching engine sees them
+    @GetMapping("/api/tasks/{taskId}/matches")
+    public ResponseEntity<List<VolunteerMatchDTO>> getTaskMatches(@PathVariable Integer taskId,
+                                                                  @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(taskService.getTaskMatches(taskId, Math.min(limit, 100)));
+    }
+
+    // Next best available tasks in priority order (deadline, disaster severity, age)
+    @GetMapping("/api/tasks/available/next")
+    public ResponseEntity<List<TaskDTO>> getNextAvailableTasks(@RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(toTaskDTOs(taskService.getNextAvailableTasks(limit)));
     }
 
     @GetMapping("/api/tasks/volunteer/{volunteerId}")
-    public ResponseEntity<List<Task>> getVolunteerTasks(@PathVariable Long volunteerId) {
+    public ResponseEntity<List<TaskDTO>> getVolunteerTasks(@PathVariable Long volunteerId) {
         List<Task> tasks = taskService.getTasksByVolunteer(volunteerId);
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok(toTaskDTOs(tasks));
     }
 
     @PostMapping("/api/tasks/{taskId}/accept")
-    public ResponseEntity<Task> acceptTask(@PathVariable Integer taskId, @RequestParam Long volunteerId) {
+    public ResponseEntity<TaskDTO> acceptTask(@PathVariable Integer taskId, @RequestParam Long volunteerId) {
         Task acceptedTask = taskService.acceptTask(taskId, volunteerId);
-        return ResponseEntity.ok(acceptedTask);
+        return ResponseEntity.ok(TaskDTO.of(acceptedTask));
     }
 
     @PutMapping("/api/tasks/{taskId}/status")
-    public ResponseEntity<Task> updateTaskStatus(
+    public ResponseEntity<TaskDTO> updateTaskStatus(
             @PathVariable Integer taskId,
             @RequestParam TaskStatus status) {
         Task updatedTask = taskService.updateTaskStatus(taskId, status);
-        return ResponseEntity.ok(updatedTask);
+        return ResponseEntity.ok(TaskDTO.of(updatedTask));
     }
 
     @PostMapping("/api/tasks/{taskId}/volunteer-remarks")
-    public ResponseEntity<Task> addVolunteerRemarks(
+    public ResponseEntity<TaskDTO> addVolunteerRemarks(
             @PathVariable Integer taskId,
             @RequestBody String remarks) {
         Task updatedTask = taskService.addVolunteerRemarks(taskId, remarks);
-        return ResponseEntity.ok(updatedTask);
+        return ResponseEntity.ok(TaskDTO.of(updatedTask));
     }
 
     @PostMapping("/api/tasks/{taskId}/admin-remarks")
-    public ResponseEntity<Task> addAdminRemarks(
+    public ResponseEntity<TaskDTO> addAdminRemarks(
             @PathVariable Integer taskId,
+            @RequestParam(required = false) Integer authorId,
             @RequestBody String remarks) {
-        Task updatedTask = taskService.addAdminRemarks(taskId, remarks);
-        return ResponseEntity.ok(updatedTask);
+        Task updatedTask = taskService.addAdminRemarks(taskId, remarks, authorId);
+        return ResponseEntity.ok(TaskDTO.of(updatedTask));
     }
 
     @GetMapping("/api/tasks/{taskId}/remarks")
@@ -117,6 +162,26 @@ public class TaskManagementController {
         return ResponseEntity.ok(remarks);
     }
 
+    // One remark per row with author and time, newest first, optionally only one role's
+    @GetMapping("/api/tasks/{taskId}/remarks/history")
+    public ResponseEntity<PageResponse<TaskRemark>> getTaskRemarkHistory(
+            @PathVariable Integer taskId,
+            @RequestParam(required = false) TaskRemark.AuthorRole role,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(taskService.getTaskRemarkHistory(taskId, role, cursor, limit));
+    }
+
+    // Entities never leave the controller: the DTOs carry user summaries (no password hash) and
+    // the repositories fetch everything they read in the list query itself
+    private static List<TaskDTO> toTaskDTOs(List<Task> tasks) {
+        return tasks.stream().map(TaskDTO::of).toList();
+    }
+
+    private static List<TaskRequestDTO> toRequestDTOs(List<TaskRequest> taskRequests) {
+        return taskRequests.stream().map(TaskRequestDTO::of).toList();
+    }
+
     
     
 
@@ -1,13 +1,19 @@
 package com.marian.project.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.marian.project.dto.PageResponse;
+import com.marian.project.dto.UserDTO;
+import com.marian.project.dto.UserPrincipal;
 import com.marian.project.model.User;
+import com.marian.project.service.StreamTokenService;
 import com.marian.project.service.UserService;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,10 +26,25 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private StreamTokenService streamTokenService;
+
     // Fetch all users
     @GetMapping("/api/users")
-    public List<User> showAllUsers() {
-        return userService.getAllUsers();
+    public List<UserDTO> showAllUsers() {
+        return userService.getAllUsers().stream().map(UserDTO::of).toList();
+    }
+
+    // Fetch one page of users, filtered and ordered newest first
+    @GetMapping("/api/users/page")
+    public PageResponse<UserDTO> showUserPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        return userService.getUserPage(cursor, role, status, from, to, limit).map(UserDTO::of);
     }
 
     // Fetch a single user by ID
@@ -60,14 +81,13 @@ public class UserController {
     @PostMapping("/api/login")
     public ResponseEntity<Map<String, Object>> login(@RequestBody User loginUser) {
         Map<String, Object> response = new HashMap<>();
-        // Authenticate the user
-        boolean isValidUser = userService.authenticateUser(loginUser.getEmail(), loginUser.getPassword());
-        if (isValidUser) {
-            // Fetch the user's details
-            String userStatus = userService.getUserStatus(loginUser.getEmail());
-            Integer userId = userService.getUserIdByEmail(loginUser.getEmail());
-            String userRole = userService.getUserRoleByEmail(loginUser.getEmail());
-            String userName = userService.getUserNameByEmail(loginUser.getEmail()); // Add this method
+        // Authenticate the user; the principal already carries the details the response needs
+        Optional<UserPrincipal> principal = userService.authenticate(loginUser.getEmail(), loginUser.getPassword());
+        if (principal.isPresent()) {
+            String userStatus = principal.get().getUserStatus();
+            Integer userId = principal.get().getUserId();
+            String userRole = principal.get().getRole();
+            String userName = principal.get().getName();
 
             if ("active".equalsIgnoreCase(userStatus)) {
                 response.put("success", true);
@@ -76,6 +96,8 @@ public class UserController {
                 response.put("role", userRole);
                 response.put("name", userName); // Include name in the response
                 response.put("userStatus", userStatus);
+                // Opens /api/notifications/stream/{role}?token=... with this user's task offers
+                response.put("streamToken", streamTokenService.issue(userId, userRole));
                 return ResponseEntity.ok(response);
             } else {
                 response.put("success", false);
@@ -1,11 +1,14 @@
 package com.marian.project.controller;
 
+import com.marian.project.dto.PageResponse;
 import com.marian.project.dto.VolunteerApplicationDTO;
 import com.marian.project.model.VolunteerApplication;
 import com.marian.project.service.VolunteerApplicationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,6 +25,17 @@ public class VolunteerApplicationController {
         return volunteerApplicationService.getAllApplications();
     }
 
+    // Fetch one page of volunteer applications, filtered and ordered newest first
+    @GetMapping("/page")
+    public PageResponse<VolunteerApplicationDTO> getApplicationPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) VolunteerApplication.ApplicationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        return volunteerApplicationService.getApplicationPage(cursor, status, from, to, limit);
+    }
+
     // Fetch a specific volunteer application by ID
     @GetMapping("/{applicationId}")
     public Optional<VolunteerApplicationDTO> getApplicationById(@PathVariable int applicationId) {
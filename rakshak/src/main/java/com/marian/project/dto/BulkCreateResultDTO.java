@@ -0,0 +1,35 @@
+package com.marian.project.dto;
+
+import java.util.List;
+
+// Answer to a bulk create: how many rows were inserted and their ids, in request order
+public class BulkCreateResultDTO<ID> {
+
+    private int created;
+    private List<ID> ids;
+
+    public BulkCreateResultDTO() {
+    }
+
+    public BulkCreateResultDTO(List<ID> ids) {
+        this.created = ids.size();
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public List<ID> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<ID> ids) {
+        this.ids = ids;
+    }
+}
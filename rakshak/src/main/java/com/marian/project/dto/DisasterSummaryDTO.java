@@ -0,0 +1,16 @@
+package com.marian.project.dto;
+
+import com.marian.project.model.Disaster;
+
+// The disaster a task request belongs to, as shown next to the request
+public record DisasterSummaryDTO(Long disasterId, String name, Disaster.DisasterType disasterType,
+                                 Disaster.Severity severity, Disaster.Status status) {
+
+    public static DisasterSummaryDTO of(Disaster disaster) {
+        if (disaster == null) {
+            return null;
+        }
+        return new DisasterSummaryDTO(disaster.getDisasterId(), disaster.getName(), disaster.getDisasterType(),
+                disaster.getSeverity(), disaster.getStatus());
+    }
+}
@@ -0,0 +1,21 @@
+package com.marian.project.dto;
+
+// One hit of a proximity search: the item plus its distance from the search centre
+public class GeoResultDTO<T> {
+
+    private final T item;
+    private final Double distanceKm;  // Null for bounding-box searches
+
+    public GeoResultDTO(T item, Double distanceKm) {
+        this.item = item;
+        this.distanceKm = distanceKm;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+}
@@ -0,0 +1,156 @@
+package com.marian.project.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Progress of one background import, as returned by /api/imports/{jobId}. Counters are written by
+// the single worker running the job and read by status polls.
+public class ImportJobDTO {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String jobId;
+    private final String kind;
+    private final String fileName;
+    private final String format;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final int maxErrors;
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long rowsRead;
+    private volatile long rowsImported;
+    private volatile long rowsSkipped;
+    private volatile long rowsFailed;
+    private volatile String failureReason;
+    // First maxErrors skipped / failed rows, so a bad file does not grow this without bound
+    private final List<RowError> errors = new ArrayList<>();
+
+    public ImportJobDTO(String jobId, String kind, String fileName, String format, int maxErrors) {
+        this.jobId = jobId;
+        this.kind = kind;
+        this.fileName = fileName;
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    public void started() {
+        startedAt = LocalDateTime.now();
+        state = State.RUNNING;
+    }
+
+    public void completed() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    public void failed(String reason) {
+        failureReason = reason;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    public void rowsRead(int count) {
+        rowsRead += count;
+    }
+
+    public void rowsImported(int count) {
+        rowsImported += count;
+    }
+
+    // Duplicate of a row already in the file or the database
+    public void rowSkipped(long line, String reason) {
+        rowsSkipped++;
+        addError(line, reason);
+    }
+
+    // Malformed or invalid row
+    public void rowFailed(long line, String reason) {
+        rowsFailed++;
+        addError(line, reason);
+    }
+
+    private synchronized void addError(long line, String reason) {
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, reason));
+        }
+    }
+
+    // Getters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public synchronized List<RowError> getErrors() {
+        return new ArrayList<>(errors);
+    }
+
+    public static final class RowError {
+        private final long line;
+        private final String reason;
+
+        private RowError(long line, String reason) {
+            this.line = line;
+            this.reason = reason;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.marian.project.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Keyset (cursor) page returned by the admin list endpoints.
+// Rows are ordered by id descending, so the cursor is simply the id of the last row handed out.
+public class PageResponse<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private List<T> items;
+    private Long nextCursor;  // Pass back as ?cursor= to fetch the next page, null on the last page
+    private boolean hasMore;
+
+    public PageResponse() {
+    }
+
+    public PageResponse(List<T> items, Long nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    // Clamp a client supplied page size into [1, MAX_LIMIT]
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    // Build a page from a query that fetched limit + 1 rows; the extra row only tells us whether more exist
+    public static <T> PageResponse<T> of(List<T> rows, int limit, Function<T, ? extends Number> idOf) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? rows.subList(0, limit) : rows;
+        Long nextCursor = hasMore ? idOf.apply(items.get(items.size() - 1)).longValue() : null;
+        return new PageResponse<>(items, nextCursor, hasMore);
+    }
+
+    // Re-map the items of a page (e.g. entity -> DTO) keeping the cursor
+    public <R> PageResponse<R> map(Function<T, R> mapper) {
+        return new PageResponse<>(items.stream().map(mapper).toList(), nextCursor, hasMore);
+    }
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,45 @@
+package com.marian.project.dto;
+
+import com.marian.project.service.AllocationPolicy;
+
+import java.util.List;
+
+// Body of POST /api/resource-requests/batch
+public class ResourceRequestBatchDTO {
+
+    public enum Action {
+        ALLOCATE, REJECT
+    }
+
+    private List<Long> requestIds;
+    private Action action;
+    private AllocationPolicy policy;  // Optional, defaults to rakshak.allocation.default-policy
+
+    public ResourceRequestBatchDTO() {
+    }
+
+    // Getters and Setters
+    public List<Long> getRequestIds() {
+        return requestIds;
+    }
+
+    public void setRequestIds(List<Long> requestIds) {
+        this.requestIds = requestIds;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public AllocationPolicy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(AllocationPolicy policy) {
+        this.policy = policy;
+    }
+}
@@ -0,0 +1,68 @@
+package com.marian.project.dto;
+
+// Outcome of one request in a batch allocate / reject call
+public class ResourceRequestBatchResultDTO {
+
+    public enum Outcome {
+        ALLOCATED, PARTIALLY_ALLOCATED, REJECTED, INSUFFICIENT_STOCK, ALREADY_PROCESSED, NOT_FOUND
+    }
+
+    private Long requestId;
+    private Outcome outcome;
+    private Integer requestedQuantity;
+    private Integer allocatedQuantity;
+    private String status;  // Status of the request after the batch
+
+    public ResourceRequestBatchResultDTO() {
+    }
+
+    public ResourceRequestBatchResultDTO(Long requestId, Outcome outcome, Integer requestedQuantity,
+                                         Integer allocatedQuantity, String status) {
+        this.requestId = requestId;
+        this.outcome = outcome;
+        this.requestedQuantity = requestedQuantity;
+        this.allocatedQuantity = allocatedQuantity;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public Integer getRequestedQuantity() {
+        return requestedQuantity;
+    }
+
+    public void setRequestedQuantity(Integer requestedQuantity) {
+        this.requestedQuantity = requestedQuantity;
+    }
+
+    public Integer getAllocatedQuantity() {
+        return allocatedQuantity;
+    }
+
+    public void setAllocatedQuantity(Integer allocatedQuantity) {
+        this.allocatedQuantity = allocatedQuantity;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
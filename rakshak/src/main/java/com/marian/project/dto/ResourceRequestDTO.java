@@ -1,5 +1,7 @@
 package com.marian.project.dto;
 
+import com.marian.project.model.Disaster;
+
 public class ResourceRequestDTO {
     private Long requestId;
     private Long userId;  // Store the user ID
@@ -11,6 +13,10 @@ public class ResourceRequestDTO {
     private String status;  // Status of the resource request
     private String location; 
     private int quantityToAdd;// Location of the resource request
+    private Disaster.Severity severity;  // Optional urgency of the request
+    private Integer allocatedQuantity;  // Quantity actually allocated (may be partial)
+    private Double latitude;  // Optional coordinates of the location
+    private Double longitude;
 
     // Default constructor
     public ResourceRequestDTO() {
@@ -115,4 +121,36 @@ public class ResourceRequestDTO {
 	public void setQuantityToAdd(int quantityToAdd) {
 		this.quantityToAdd = quantityToAdd;
 	}
+
+	public Disaster.Severity getSeverity() {
+		return severity;
+	}
+
+	public void setSeverity(Disaster.Severity severity) {
+		this.severity = severity;
+	}
+
+	public Integer getAllocatedQuantity() {
+		return allocatedQuantity;
+	}
+
+	public void setAllocatedQuantity(Integer allocatedQuantity) {
+		this.allocatedQuantity = allocatedQuantity;
+	}
+
+	public Double getLatitude() {
+		return latitude;
+	}
+
+	public void setLatitude(Double latitude) {
+		this.latitude = latitude;
+	}
+
+	public Double getLongitude() {
+		return longitude;
+	}
+
+	public void setLongitude(Double longitude) {
+		this.longitude = longitude;
+	}
 }
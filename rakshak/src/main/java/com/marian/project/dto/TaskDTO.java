@@ -0,0 +1,18 @@
+package com.marian.project.dto;
+
+import com.marian.project.model.Task;
+
+import java.time.LocalDateTime;
+
+// A task as returned by the task endpoints, with its request and volunteer as summaries
+public record TaskDTO(int taskId, TaskRequestDTO taskRequest, UserSummaryDTO volunteer, String photo,
+                      Task.TaskStatus status, String volunteerRemarks, String adminRemarks,
+                      LocalDateTime createdAt, LocalDateTime deadline) {
+
+    // Expects the request, its user and disaster, and the volunteer to be fetched already (see TaskRepository)
+    public static TaskDTO of(Task task) {
+        return new TaskDTO(task.getTaskId(), TaskRequestDTO.of(task.getTaskRequest()), UserSummaryDTO.of(task.getVolunteer()),
+                task.getPhoto(), task.getStatus(), task.getVolunteerRemarks(), task.getAdminRemarks(),
+                task.getCreatedAt(), task.getDeadline());
+    }
+}
@@ -0,0 +1,47 @@
+package com.marian.project.dto;
+
+import java.time.LocalDateTime;
+
+// A task pushed to a volunteer by the matching engine
+public class TaskOfferDTO {
+
+    private final int taskId;
+    private final String title;
+    private final String location;
+    private final Double distanceKm;  // Null when the task or the volunteer has no coordinates
+    private final double score;       // Lower is a better match
+    private final LocalDateTime offeredAt;
+
+    public TaskOfferDTO(int taskId, String title, String location, Double distanceKm, double score, LocalDateTime offeredAt) {
+        this.taskId = taskId;
+        this.title = title;
+        this.location = location;
+        this.distanceKm = distanceKm;
+        this.score = score;
+        this.offeredAt = offeredAt;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public LocalDateTime getOfferedAt() {
+        return offeredAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.marian.project.dto;
+
+import com.marian.project.model.TaskRequest;
+
+import java.time.LocalDateTime;
+
+// A task request as returned by the task request endpoints. Same field names as the entity, so
+// existing clients keep working, but the requester and disaster are summaries.
+public record TaskRequestDTO(int requestId, UserSummaryDTO user, String requestTitle, String requestDescription,
+                             String location, Double latitude, Double longitude, DisasterSummaryDTO disaster,
+                             String photo, TaskRequest.RequestStatus status, LocalDateTime createdAt,
+                             LocalDateTime updatedAt) {
+
+    // Expects user and disaster to be fetched already (see TaskRequestRepository)
+    public static TaskRequestDTO of(TaskRequest request) {
+        if (request == null) {
+            return null;
+        }
+        return new TaskRequestDTO(request.getRequestId(), UserSummaryDTO.of(request.getUser()),
+                request.getRequestTitle(), request.getRequestDescription(), request.getLocation(),
+                request.getLatitude(), request.getLongitude(), DisasterSummaryDTO.of(request.getDisaster()),
+                request.getPhoto(), request.getStatus(), request.getCreatedAt(), request.getUpdatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.marian.project.dto;
+
+import com.marian.project.model.User;
+
+import java.time.LocalDateTime;
+
+// A row of the admin user lists: the profile plus account status, never the password hash. The screens
+// PUT a row back as it came, and updateUser only copies the profile fields it carries.
+public record UserDTO(int userId, String name, String email, String phoneNumber, String location, String role,
+                      String userStatus, LocalDateTime createdAt) {
+
+    public static UserDTO of(User user) {
+        return new UserDTO(user.getUserId(), user.getName(), user.getEmail(), user.getPhoneNumber(),
+                user.getLocation(), user.getRole(), user.getUserStatus(), user.getCreatedAt());
+    }
+}
@@ -0,0 +1,49 @@
+package com.marian.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Compact, immutable view of a user holding just what login needs; loaded with one query and cached
+public class UserPrincipal {
+
+    private final int userId;
+    private final String name;
+    private final String email;
+    private final String role;
+    private final String userStatus;
+    private final String passwordHash;
+
+    public UserPrincipal(int userId, String name, String email, String role, String userStatus, String passwordHash) {
+        this.userId = userId;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.userStatus = userStatus;
+        this.passwordHash = passwordHash;
+    }
+
+    // Getters
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getUserStatus() {
+        return userStatus;
+    }
+
+    @JsonIgnore
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+}
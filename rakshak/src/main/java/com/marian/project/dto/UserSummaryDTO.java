@@ -0,0 +1,15 @@
+package com.marian.project.dto;
+
+import com.marian.project.model.User;
+
+// The public face of a user inside other payloads (requester, assigned volunteer); never the password
+public record UserSummaryDTO(int userId, String name, String email, String phoneNumber, String location, String role) {
+
+    public static UserSummaryDTO of(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserSummaryDTO(user.getUserId(), user.getName(), user.getEmail(), user.getPhoneNumber(),
+                user.getLocation(), user.getRole());
+    }
+}
@@ -0,0 +1,39 @@
+package com.marian.project.dto;
+
+// One ranked volunteer for a task, with the parts of its score
+public class VolunteerMatchDTO {
+
+    private final int userId;
+    private final String name;
+    private final Double distanceKm;  // Null when the task or the volunteer has no coordinates
+    private final int openTasks;
+    private final double score;       // Lower is a better match
+
+    public VolunteerMatchDTO(int userId, String name, Double distanceKm, int openTasks, double score) {
+        this.userId = userId;
+        this.name = name;
+        this.distanceKm = distanceKm;
+        this.openTasks = openTasks;
+        this.score = score;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public int getOpenTasks() {
+        return openTasks;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
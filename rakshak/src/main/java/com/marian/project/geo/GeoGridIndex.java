@@ -0,0 +1,206 @@
+package com.marian.project.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// In-memory spatial index: the globe is cut into fixed cells of cellSizeDegrees x cellSizeDegrees
+// and every point lives in the bucket of its cell. A radius or box query only visits the cells the
+// area overlaps, so its cost depends on how many points are nearby, not on how many are indexed.
+// Writes are serialized (they are rare next to reads); queries never block.
+public class GeoGridIndex<K> {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private final double cellSizeDegrees;
+    private final int columns;
+    private final int rows;
+
+    // cell -> points in it
+    private final Map<Long, Map<K, Point<K>>> cells = new ConcurrentHashMap<>();
+    // key -> its current point, so a move or remove finds the old cell
+    private final Map<K, Point<K>> points = new ConcurrentHashMap<>();
+
+    public GeoGridIndex(double cellSizeDegrees) {
+        // Cells must tile the globe exactly so columns wrap cleanly at the antimeridian
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 90 || Math.abs(360 / cellSizeDegrees - Math.rint(360 / cellSizeDegrees)) > 1e-6) {
+            throw new IllegalArgumentException("cellSizeDegrees must be in (0, 90] and divide 360");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.columns = (int) Math.rint(360 / cellSizeDegrees);
+        this.rows = (int) Math.ceil(180 / cellSizeDegrees - 1e-6);
+    }
+
+    // Add or move a point
+    public synchronized void put(K key, double latitude, double longitude) {
+        validate(latitude, longitude);
+        Point<K> point = new Point<>(key, latitude, longitude, cellOf(latitude, longitude));
+        Point<K> previous = points.put(key, point);
+        if (previous != null && previous.cell != point.cell) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(point.cell, c -> new ConcurrentHashMap<>()).put(key, point);
+    }
+
+    public synchronized void remove(K key) {
+        Point<K> previous = points.remove(key);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public boolean contains(K key) {
+        return points.containsKey(key);
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    // Points within radiusKm of the centre, nearest first
+    public List<Hit<K>> withinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        validate(latitude, longitude);
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        // Near the poles (or for huge radii) every longitude is in range
+        double lonDelta = cosLat < 1e-6 ? 180 : Math.min(180, radiusKm / (KM_PER_DEGREE_LAT * cosLat));
+
+        List<Hit<K>> hits = new ArrayList<>();
+        scan(latitude - latDelta, latitude + latDelta, longitude - lonDelta, longitude + lonDelta, point -> {
+            double distance = distanceKm(latitude, longitude, point.latitude, point.longitude);
+            if (distance <= radiusKm) {
+                hits.add(new Hit<>(point.key, point.latitude, point.longitude, distance));
+            }
+        });
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    // Points inside a box; minLongitude > maxLongitude means the box crosses the antimeridian
+    public List<Hit<K>> withinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int limit) {
+        validate(minLatitude, minLongitude);
+        validate(maxLatitude, maxLongitude);
+        double maxLonUnwrapped = maxLongitude < minLongitude ? maxLongitude + 360 : maxLongitude;
+
+        List<Hit<K>> hits = new ArrayList<>();
+        scan(minLatitude, maxLatitude, minLongitude, maxLonUnwrapped, point -> {
+            if (hits.size() >= limit || point.latitude < minLatitude || point.latitude > maxLatitude) {
+                return;
+            }
+            double lon = point.longitude < minLongitude ? point.longitude + 360 : point.longitude;
+            if (lon <= maxLonUnwrapped) {
+                hits.add(new Hit<>(point.key, point.latitude, point.longitude, null));
+            }
+        });
+        return hits;
+    }
+
+    // Great-circle (haversine) distance
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    // Visit every point in the cells overlapping the (unwrapped) lat/lon range
+    private void scan(double minLat, double maxLat, double minLon, double maxLon, Consumer<Point<K>> visitor) {
+        int firstRow = rowOf(Math.max(-90, minLat));
+        int lastRow = rowOf(Math.min(90, maxLat));
+        int firstColumn = (int) Math.floor((minLon + 180) / cellSizeDegrees);
+        int lastColumn = (int) Math.floor((maxLon + 180) / cellSizeDegrees);
+        if (lastColumn - firstColumn >= columns) {
+            firstColumn = 0;
+            lastColumn = columns - 1;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                Map<K, Point<K>> cell = cells.get(cellKey(row, Math.floorMod(column, columns)));
+                if (cell != null) {
+                    cell.values().forEach(visitor);
+                }
+            }
+        }
+    }
+
+    private void removeFromCell(Point<K> point) {
+        cells.computeIfPresent(point.cell, (c, cellPoints) -> {
+            cellPoints.remove(point.key, point);
+            return cellPoints.isEmpty() ? null : cellPoints;
+        });
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        int column = Math.min(columns - 1, (int) Math.floor((longitude + 180) / cellSizeDegrees));
+        return cellKey(rowOf(latitude), column);
+    }
+
+    private int rowOf(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellSizeDegrees));
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    private static void validate(double latitude, double longitude) {
+        if (!isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+    }
+
+    private static final class Point<K> {
+        private final K key;
+        private final double latitude;
+        private final double longitude;
+        private final long cell;
+
+        private Point(K key, double latitude, double longitude, long cell) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell;
+        }
+    }
+
+    public static final class Hit<K> {
+        private final K key;
+        private final double latitude;
+        private final double longitude;
+        private final Double distanceKm;
+
+        private Hit(K key, double latitude, double longitude, Double distanceKm) {
+            this.key = key;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.distanceKm = distanceKm;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        // Null for box queries
+        public Double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
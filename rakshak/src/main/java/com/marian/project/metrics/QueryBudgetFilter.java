@@ -0,0 +1,95 @@
+package com.marian.project.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Counts the SQL statements of every HTTP request (rakshak.http.queries, tagged with method and URI
+// pattern) and logs a warning when a request goes over the budget or runs the same statement shape
+// repeat-threshold times or more, the signature of an N+1 select. Only statements on the request
+// thread are seen: async work (streaming exports, SSE) and background jobs are not counted.
+@Component
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final int budget;
+    private final int repeatThreshold;
+
+    public QueryBudgetFilter(MeterRegistry registry,
+                             @Value("${rakshak.queries.enabled:true}") boolean enabled,
+                             @Value("${rakshak.queries.budget:20}") int budget,
+                             @Value("${rakshak.queries.repeat-threshold:10}") int repeatThreshold) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.Scope scope = QueryCounter.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+            check(request, scope);
+        }
+    }
+
+    private void check(HttpServletRequest request, QueryCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("rakshak.http.queries")
+                .description("SQL statements per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(registry)
+                .record(scope.getTotal());
+
+        if (scope.getTotal() > budget) {
+            flagged(method, uri, "budget");
+            log.warn("{} {} ran {} SQL statements (budget {}): {}",
+                    method, request.getRequestURI(), scope.getTotal(), budget, scope.getShapes());
+        }
+        Map<String, Integer> repeated = scope.getRepeated(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            flagged(method, uri, "repeated");
+            log.warn("{} {} ran the same statement repeatedly, likely an N+1 select: {}",
+                    method, request.getRequestURI(), repeated);
+        }
+    }
+
+    private void flagged(String method, String uri, String reason) {
+        Counter.builder("rakshak.http.queries.flagged")
+                .description("HTTP requests over the query budget or with repeated statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,43 @@
+package com.marian.project.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Wraps the DataSource in a datasource-proxy that reports every executed statement to QueryCounter.
+// A JDBC batch counts once (it is one round trip). Other proxies may wrap it again (the load test adds
+// simulated latency this way); Hikari metrics still find the pool through unwrap().
+@Component
+public class QueryCountingDataSourceWrapper implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new CountingListener())
+                    .build();
+        }
+        return bean;
+    }
+
+    private static final class CountingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo queryInfo : queryInfoList) {
+                QueryCounter.record(queryInfo.getQuery());
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.marian.project.metrics;
+
+import com.marian.project.model.Disaster;
+import com.marian.project.model.Task.TaskStatus;
+import com.marian.project.model.TaskRequest.RequestStatus;
+import com.marian.project.model.VolunteerApplication.ApplicationStatus;
+import com.marian.project.service.AvailableTaskQueue;
+import com.marian.project.service.DashboardService;
+import com.marian.project.service.GeoSearchService;
+import com.marian.project.service.MailOutboxService;
+import com.marian.project.service.NotificationFeedCache;
+import com.marian.project.service.NotificationReleaseScheduler;
+import com.marian.project.service.NotificationStreamService;
+import com.marian.project.service.PasswordHasher;
+import com.marian.project.service.TaskDeadlineSweeper;
+import com.marian.project.service.UserPrincipalCache;
+import com.marian.project.service.VolunteerMatchingService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Business and infrastructure gauges for the Prometheus scrape (/actuator/prometheus): entity counts
+// by status from the dashboard counters, the in-memory queues and indexes, the BCrypt pool, the mail
+// outbox, the deadline sweeper totals and the available stock per resource type. Hibernate statistics,
+// HikariCP, JVM and HTTP server metrics come from Spring Boot's auto-configuration.
+@Component
+public class RakshakMetrics implements MeterBinder {
+
+    private final DashboardService dashboardService;
+    private final AvailableTaskQueue availableTaskQueue;
+    private final GeoSearchService geoSearchService;
+    private final VolunteerMatchingService volunteerMatchingService;
+    private final PasswordHasher passwordHasher;
+    private final MailOutboxService mailOutboxService;
+    private final NotificationReleaseScheduler notificationReleaseScheduler;
+    private final NotificationFeedCache notificationFeedCache;
+    private final NotificationStreamService notificationStreamService;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TaskDeadlineSweeper taskDeadlineSweeper;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxStockTypes;
+
+    // Created on bind; rows are replaced by refreshStockLevels so new resource types show up
+    private volatile MultiGauge stockLevels;
+
+    public RakshakMetrics(DashboardService dashboardService, AvailableTaskQueue availableTaskQueue,
+                          GeoSearchService geoSearchService, VolunteerMatchingService volunteerMatchingService,
+                          PasswordHasher passwordHasher, MailOutboxService mailOutboxService,
+                          NotificationReleaseScheduler notificationReleaseScheduler,
+                          NotificationFeedCache notificationFeedCache,
+                          NotificationStreamService notificationStreamService,
+                          UserPrincipalCache userPrincipalCache, TaskDeadlineSweeper taskDeadlineSweeper,
+                          JdbcTemplate jdbcTemplate,
+                          @Value("${rakshak.metrics.stock-max-types:20}") int maxStockTypes) {
+        this.dashboardService = dashboardService;
+        this.availableTaskQueue = availableTaskQueue;
+        this.geoSearchService = geoSearchService;
+        this.volunteerMatchingService = volunteerMatchingService;
+        this.passwordHasher = passwordHasher;
+        this.mailOutboxService = mailOutboxService;
+        this.notificationReleaseScheduler = notificationReleaseScheduler;
+        this.notificationFeedCache = notificationFeedCache;
+        this.notificationStreamService = notificationStreamService;
+        this.userPrincipalCache = userPrincipalCache;
+        this.taskDeadlineSweeper = taskDeadlineSweeper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxStockTypes = maxStockTypes;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Counts by status, read from the dashboard counters (no query per scrape)
+        statusGauges(registry, "rakshak.tasks", "Tasks by status",
+                DashboardService.TASKS_BY_STATUS, TaskStatus.values());
+        statusGauges(registry, "rakshak.task.requests", "Task requests by status",
+                DashboardService.TASK_REQUESTS_BY_STATUS, RequestStatus.values());
+        statusGauges(registry, "rakshak.resource.requests", "Resource requests by status",
+                DashboardService.RESOURCE_REQUESTS_BY_STATUS, new String[]{"PENDING", "ALLOCATED", "REJECTED"});
+        statusGauges(registry, "rakshak.disasters", "Disasters by status",
+                DashboardService.DISASTERS_BY_STATUS, Disaster.Status.values());
+        statusGauges(registry, "rakshak.volunteer.applications", "Volunteer applications by status",
+                DashboardService.VOLUNTEER_APPLICATIONS_BY_STATUS, ApplicationStatus.values());
+
+        // In-memory queues, indexes and caches
+        Gauge.builder("rakshak.tasks.available", availableTaskQueue, AvailableTaskQueue::size)
+                .description("Open tasks in the claim queue").register(registry);
+        Gauge.builder("rakshak.geo.index.tasks", geoSearchService, GeoSearchService::getOpenTaskCount)
+                .description("Open tasks in the spatial index").register(registry);
+        Gauge.builder("rakshak.geo.index.disasters", geoSearchService, GeoSearchService::getActiveDisasterCount)
+                .description("Active disasters in the spatial index").register(registry);
+        Gauge.builder("rakshak.matching.volunteers", volunteerMatchingService, VolunteerMatchingService::getVolunteerCount)
+                .description("Volunteers known to the matcher").register(registry);
+        Gauge.builder("rakshak.principals.cached", userPrincipalCache, UserPrincipalCache::size)
+                .description("Login principals in the cache").register(registry);
+        Gauge.builder("rakshak.notifications.feed.size", notificationFeedCache, NotificationFeedCache::size)
+                .description("Notifications in the per-role feed cache").register(registry);
+        Gauge.builder("rakshak.notifications.stream.subscribers", notificationStreamService,
+                        NotificationStreamService::getSubscriberCount)
+                .description("Open notification SSE streams").register(registry);
+        FunctionCounter.builder("rakshak.notifications.stream.dropped", notificationStreamService,
+                        NotificationStreamService::getDroppedCount)
+                .description("SSE clients disconnected for falling behind").register(registry);
+        Gauge.builder("rakshak.notifications.release.pending", notificationReleaseScheduler,
+                        NotificationReleaseScheduler::getPendingCount)
+                .description("Scheduled notifications waiting for release").register(registry);
+        Gauge.builder("rakshak.notifications.release.lag", notificationReleaseScheduler,
+                        NotificationReleaseScheduler::getLastLagMillis)
+                .description("How late the last scheduled notification was released")
+                .baseUnit("milliseconds").register(registry);
+        FunctionCounter.builder("rakshak.notifications.released", notificationReleaseScheduler,
+                        NotificationReleaseScheduler::getReleasedCount)
+                .description("Scheduled notifications released").register(registry);
+
+        // BCrypt pool
+        Gauge.builder("rakshak.password.hashing.queued", passwordHasher, PasswordHasher::getQueuedCount)
+                .description("Hash jobs waiting for a BCrypt thread").register(registry);
+        Gauge.builder("rakshak.password.hashing.active", passwordHasher, PasswordHasher::getActiveCount)
+                .description("BCrypt threads busy").register(registry);
+        FunctionCounter.builder("rakshak.password.hashing.completed", passwordHasher, PasswordHasher::getCompletedCount)
+                .description("Hash jobs completed").register(registry);
+        FunctionCounter.builder("rakshak.password.hashing.rejected", passwordHasher, PasswordHasher::getRejectedCount)
+                .description("Hash jobs rejected because the queue was full").register(registry);
+
+        // Mail outbox (one COUNT query per scrape) and the deadline sweeper
+        Gauge.builder("rakshak.mail.outbox.pending", mailOutboxService, MailOutboxService::countPending)
+                .description("Mails waiting in the outbox").register(registry);
+        FunctionCounter.builder("rakshak.tasks.swept", taskDeadlineSweeper, TaskDeadlineSweeper::getCancelledCount)
+                .tag("action", "cancelled").description("Overdue tasks handled by the sweeper").register(registry);
+        FunctionCounter.builder("rakshak.tasks.swept", taskDeadlineSweeper, TaskDeadlineSweeper::getRequeuedCount)
+                .tag("action", "requeued").description("Overdue tasks handled by the sweeper").register(registry);
+
+        stockLevels = MultiGauge.builder("rakshak.resource.stock")
+                .description("Available quantity per resource type")
+                .register(registry);
+    }
+
+    // Stock changes on every allocation, so it is read from the table on an interval instead of per scrape.
+    // Tagged by type, not by resource: every resource would be its own time series. Types are free text,
+    // so only the largest maxStockTypes get their own series and the rest are summed under "other".
+    // Per-resource history is served by /api/resource-requests/resources/{resourceId}/ledger.
+    @Scheduled(initialDelay = 0, fixedDelayString = "${rakshak.metrics.stock-refresh-ms:60000}")
+    public void refreshStockLevels() {
+        MultiGauge gauge = stockLevels;
+        if (gauge == null) {
+            return;
+        }
+        List<StockTotal> totals = jdbcTemplate.query(
+                "SELECT COALESCE(LOWER(TRIM(type)), 'unknown') AS resource_type, " +
+                        "SUM(COALESCE(available_quantity, 0)) AS quantity " +
+                        "FROM resource GROUP BY resource_type ORDER BY quantity DESC",
+                (rs, rowNum) -> new StockTotal(rs.getString(1), rs.getLong(2)));
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(Math.min(totals.size(), maxStockTypes + 1));
+        long other = 0;
+        for (int i = 0; i < totals.size(); i++) {
+            if (i < maxStockTypes) {
+                rows.add(MultiGauge.Row.of(Tags.of("type", totals.get(i).type()), totals.get(i).quantity()));
+            } else {
+                other += totals.get(i).quantity();
+            }
+        }
+        if (totals.size() > maxStockTypes) {
+            rows.add(MultiGauge.Row.of(Tags.of("type", "other"), other));
+        }
+        gauge.register(rows, true);
+    }
+
+    private void statusGauges(MeterRegistry registry, String name, String description, String group, Object[] statuses) {
+        for (Object status : statuses) {
+            String key = status instanceof Enum<?> e ? e.name() : status.toString();
+            Gauge.builder(name, () -> dashboardService.getCount(group, key))
+                    .tag("status", key.toLowerCase())
+                    .description(description)
+                    .register(registry);
+        }
+    }
+
+    private record StockTotal(String type, long quantity) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.marian.project.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Times every public method of the beans in the service package as rakshak.service, tagged with
+// class, method and the exception thrown ("none" on success). Controller endpoints are already timed
+// by Spring's http.server.requests; this shows which service call inside a slow request is the slow one.
+// The cheap accessors that RakshakMetrics polls on every scrape are left out.
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    // Success timers per method, so the hot path skips the registry lookup; failures look theirs up
+    private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(com.marian.project.service..*) && execution(public * *(..))"
+            + " && !execution(* getStats()) && !execution(* size()) && !execution(* get*Count(..))"
+            + " && !execution(* getLastLagMillis())")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(successTimers.computeIfAbsent(method, m -> timer(m, "none")));
+            return result;
+        } catch (Throwable e) {
+            sample.stop(timer(method, e.getClass().getSimpleName()));
+            throw e;
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        return Timer.builder("rakshak.service")
+                .description("Service method calls")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("exception", exception)
+                .register(registry);
+    }
+}
@@ -0,0 +1,123 @@
+package com.marian.project.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// With spring.threads.virtual.enabled=true on Java 21+, Tomcat requests and @Scheduled jobs run on
+// virtual threads (the app has no @Async work; its own executors keep platform threads). A virtual
+// thread that blocks while holding a monitor (synchronized) pins its carrier thread, which quietly
+// brings back the platform-thread ceiling. This streams the JDK's jdk.VirtualThreadPinned JFR events:
+// each one is timed as rakshak.virtual.threads.pinned and logged with its stack, at most once a minute
+// per application call site.
+@Component
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.marian.project.";
+    private static final long LOG_INTERVAL_MILLIS = 60_000;
+
+    private final MeterRegistry registry;
+    private final boolean virtualThreads;
+    private final Duration threshold;
+    private final int stackDepth;
+
+    // Call site -> when its pinning was last logged
+    private final Map<String, Long> lastLoggedAt = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                       @Value("${rakshak.virtual-threads.pinned-threshold-ms:20}") long thresholdMillis,
+                                       @Value("${rakshak.virtual-threads.pinned-stack-depth:12}") int stackDepth) {
+        this.registry = registry;
+        this.virtualThreads = virtualThreads;
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.stackDepth = stackDepth;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        if (!virtualThreads) {
+            return;
+        }
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < 21) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads; "
+                    + "requests stay on the platform thread pool", javaVersion);
+            return;
+        }
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+        log.info("Virtual threads enabled; reporting carrier pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        Timer.builder("rakshak.virtual.threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(registry)
+                .record(event.getDuration());
+
+        List<RecordedFrame> frames = frames(event.getStackTrace());
+        String site = callSite(frames);
+        long now = System.currentTimeMillis();
+        Long last = lastLoggedAt.get(site);
+        if (last != null && now - last < LOG_INTERVAL_MILLIS) {
+            return;
+        }
+        lastLoggedAt.put(site, now);
+
+        StringBuilder stack = new StringBuilder();
+        for (int i = 0; i < Math.min(stackDepth, frames.size()); i++) {
+            stack.append(System.lineSeparator()).append("    at ").append(describe(frames.get(i)));
+        }
+        log.warn("Virtual thread pinned for {} ms at {} (blocking inside synchronized?){}",
+                event.getDuration().toMillis(), site, stack);
+    }
+
+    private static List<RecordedFrame> frames(RecordedStackTrace stackTrace) {
+        return stackTrace == null ? List.of() : stackTrace.getFrames();
+    }
+
+    // The first application frame, since the top of the stack is the JDK's park/wait
+    private static String callSite(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
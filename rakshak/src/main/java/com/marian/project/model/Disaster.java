@@ -1,14 +1,22 @@
 package com.marian.project.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "disasters")
+@Table(name = "disasters", indexes = {
+        @Index(name = "idx_disasters_status_severity_type", columnList = "status, severity, disaster_type"),
+        @Index(name = "idx_disasters_reported_at", columnList = "reported_at")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Disaster {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "disasters_id")
+    @TableGenerator(name = "disasters_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "disasters", initialValue = 1,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long disasterId;
 
     @Column(name = "name", nullable = false)
@@ -20,6 +28,13 @@ public class Disaster {
     @Column(name = "location", nullable = false)
     private String location;
 
+    // Coordinates of the location (WGS84 degrees); optional, used by the proximity search
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "disaster_type", nullable = false)
     private DisasterType disasterType;
@@ -100,6 +115,22 @@ public class Disaster {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public DisasterType getDisasterType() {
         return disasterType;
     }
@@ -0,0 +1,15 @@
+package com.marian.project.model;
+
+// Shared settings of the table-backed id generators. Ids are handed out from blocks of
+// ALLOCATION_SIZE reserved in one round trip, so Hibernate knows an entity's id before the INSERT
+// and can send inserts as JDBC batches (IDENTITY columns force one statement per row).
+public final class IdSequences {
+
+    public static final String TABLE = "id_sequences";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdSequences() {
+    }
+}
@@ -5,13 +5,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.OneToMany;
 
 	@Entity
 	public class Resource {
 
 	    @Id
-	    @GeneratedValue(strategy = GenerationType.IDENTITY)
+	    @GeneratedValue(strategy = GenerationType.TABLE, generator = "resource_id")
+	    @TableGenerator(name = "resource_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+	            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "resource", initialValue = 1,
+	            allocationSize = IdSequences.ALLOCATION_SIZE)
 	    private Long resourceId;
 
 	    private String name;  // Name of the resource
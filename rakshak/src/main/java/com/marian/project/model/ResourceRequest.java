@@ -2,29 +2,49 @@ package com.marian.project.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        // Status-filtered list page: equality on status, then the id DESC keyset seek
+        @Index(name = "idx_resource_request_status_id", columnList = "status, request_id")
+})
 public class ResourceRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "resource_request_id")
+    @TableGenerator(name = "resource_request_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "resource_request", initialValue = 1,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long requestId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "resource_id")
     private Resource resource;
     private String location;  // Location specified by the user for resource allocation
 
+    // Coordinates of the location (WGS84 degrees); optional, used by the proximity search
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     private String status;  // Request Status (PENDING, ACCEPTED, REJECTED, ALLOCATED)
 
     @Column(name = "request_date")
@@ -32,6 +52,13 @@ public class ResourceRequest {
 
     private Integer requestedQuantity;  // Quantity of the resource requested by the user
 
+    // Optional urgency, used by the SEVERITY allocation policy (null = lowest)
+    @Enumerated(EnumType.STRING)
+    private Disaster.Severity severity;
+
+    // Quantity actually handed out; can be less than requested under the PROPORTIONAL policy
+    private Integer allocatedQuantity;
+
     // Default constructor
     public ResourceRequest() {}
 
@@ -68,6 +95,22 @@ public class ResourceRequest {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -92,4 +135,20 @@ public class ResourceRequest {
 	public void setRequestedQuantity(Integer requestedQuantity) {
 		this.requestedQuantity = requestedQuantity;
 	}
+
+	public Disaster.Severity getSeverity() {
+		return severity;
+	}
+
+	public void setSeverity(Disaster.Severity severity) {
+		this.severity = severity;
+	}
+
+	public Integer getAllocatedQuantity() {
+		return allocatedQuantity;
+	}
+
+	public void setAllocatedQuantity(Integer allocatedQuantity) {
+		this.allocatedQuantity = allocatedQuantity;
+	}
 }
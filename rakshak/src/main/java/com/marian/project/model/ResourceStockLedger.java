@@ -0,0 +1,79 @@
+package com.marian.project.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One append-only stock movement for a resource. Rows are never updated or deleted, so the
+// history of a resource's quantity (and who took what) can always be rebuilt from this table.
+@Entity
+@Table(name = "resource_stock_ledger", indexes = {
+        @Index(name = "idx_stock_ledger_resource", columnList = "resource_id, id")
+})
+public class ResourceStockLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "resource_id", nullable = false, updatable = false)
+    private Long resourceId;
+
+    // Set for allocations, null for replenishment / opening balance
+    @Column(name = "request_id", updatable = false)
+    private Long requestId;
+
+    // Negative for allocations, positive for stock added
+    @Column(name = "delta", nullable = false, updatable = false)
+    private int delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", nullable = false, updatable = false)
+    private Reason reason;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Reason {
+        INITIAL, ALLOCATION, REPLENISH
+    }
+
+    public ResourceStockLedger() {
+    }
+
+    public ResourceStockLedger(Long resourceId, Long requestId, int delta, Reason reason) {
+        this.resourceId = resourceId;
+        this.requestId = requestId;
+        this.delta = delta;
+        this.reason = reason;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters only; ledger rows are immutable once written
+    public Long getId() {
+        return id;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public int getDelta() {
+        return delta;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -4,20 +4,28 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Deadline sweeper: overdue tasks of one status, oldest deadline first
+        @Index(name = "idx_tasks_status_deadline", columnList = "status, deadline"),
+        // Status lookups (open tasks, counts) walk one status in id order
+        @Index(name = "idx_tasks_status_id", columnList = "status, task_id")
+})
 public class Task {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "tasks_id")
+	@TableGenerator(name = "tasks_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+	        valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "tasks", initialValue = 1,
+	        allocationSize = IdSequences.ALLOCATION_SIZE)
 	@Column(name = "task_id")
 	private int taskId; // Change from Long to int
 
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id", nullable = false)
     private TaskRequest taskRequest; // Links to the original task request
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "volunteer_id")
     private User volunteer; // User entity with the role of "Volunteer" who accepted the task
 
@@ -28,6 +36,7 @@ public class Task {
     @Enumerated(EnumType.STRING)
     private TaskStatus status = TaskStatus.PENDING; // Default status is "Pending"
 
+    // Latest volunteer / admin remark only, for list views; the full history is in task_remarks
     @Column(name = "volunteer_remarks", columnDefinition = "TEXT")
     private String volunteerRemarks;
 
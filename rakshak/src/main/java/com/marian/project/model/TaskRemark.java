@@ -0,0 +1,84 @@
+package com.marian.project.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// One remark on a task, by a volunteer or an admin. Remarks are only ever inserted, so adding one
+// costs the same however long the discussion is and concurrent remarks cannot overwrite each other.
+@Entity
+@Table(name = "task_remarks", indexes = {
+        @Index(name = "idx_task_remarks_task", columnList = "task_id, id")
+})
+public class TaskRemark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_remarks_id")
+    @TableGenerator(name = "task_remarks_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "task_remarks", initialValue = 1,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false, updatable = false)
+    private Integer taskId;
+
+    // Null for remarks migrated without a known author and for admin remarks posted without one
+    @Column(name = "author_id", updatable = false)
+    private Integer authorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "author_role", nullable = false, updatable = false)
+    private AuthorRole authorRole;
+
+    @Column(name = "text", nullable = false, columnDefinition = "TEXT", updatable = false)
+    private String text;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum AuthorRole {
+        VOLUNTEER, ADMIN
+    }
+
+    public TaskRemark() {
+    }
+
+    public TaskRemark(Integer taskId, Integer authorId, AuthorRole authorRole, String text, LocalDateTime createdAt) {
+        this.taskId = taskId;
+        this.authorId = authorId;
+        this.authorRole = authorRole;
+        this.text = text;
+        this.createdAt = createdAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+
+    // Getters only; remarks are immutable once written
+    public Long getId() {
+        return id;
+    }
+
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public Integer getAuthorId() {
+        return authorId;
+    }
+
+    public AuthorRole getAuthorRole() {
+        return authorRole;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
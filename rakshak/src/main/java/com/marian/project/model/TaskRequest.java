@@ -1,18 +1,26 @@
 package com.marian.project.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "task_requests")
+@Table(name = "task_requests", indexes = {
+        // Status-filtered list page: equality on status, then the id DESC keyset seek
+        @Index(name = "idx_task_requests_status_id", columnList = "status, request_id")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class TaskRequest {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "task_requests_id")
+	@TableGenerator(name = "task_requests_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+	        valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "task_requests", initialValue = 1,
+	        allocationSize = IdSequences.ALLOCATION_SIZE)
 	@Column(name = "request_id")
 	private int requestId; // Change from Long to int
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user; // User who created the task request
 
@@ -25,6 +33,17 @@ public class TaskRequest {
     @Column(name = "location", nullable = false, length = 255)
     private String location; // Location for the task
 
+    // Coordinates of the location (WGS84 degrees); optional, used by the proximity search
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "disaster_id")
+    private Disaster disaster; // Disaster this request belongs to (optional), drives task priority
+
     @Column(name = "photo", length = 255)
     private String photo; // Path to the uploaded photo (optional)
 
@@ -94,6 +113,30 @@ public class TaskRequest {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public Disaster getDisaster() {
+        return disaster;
+    }
+
+    public void setDisaster(Disaster disaster) {
+        this.disaster = disaster;
+    }
+
     public String getPhoto() {
         return photo;
     }
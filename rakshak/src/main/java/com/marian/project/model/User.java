@@ -1,13 +1,23 @@
 package com.marian.project.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_user_role_status", columnList = "role, user_status"),
+        @Index(name = "idx_user_created_at", columnList = "created_at")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_id")
+    @TableGenerator(name = "user_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "user", initialValue = 1,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private int userId;
 
     @Column(name = "name", nullable = false)
@@ -16,6 +26,8 @@ public class User {
     @Column(name = "email", unique = true, nullable = false)
     private String email;
 
+    // Accepted on sign-up / login, never written back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(name = "password", nullable = false)
     private String password;
 
@@ -34,6 +46,13 @@ public class User {
     @Column(name = "location", nullable = false)
     private String location;
 
+    // Coordinates of the location (WGS84 degrees); optional, used by the proximity search
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     public User() {
     }
 
@@ -128,6 +147,22 @@ public class User {
         this.location = location;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     @Override
     public String toString() {
         return "User [userId=" + userId + ", name=" + name + ", email=" + email + ", password=" + password + ", phoneNumber=" + phoneNumber + ", createdAt=" + createdAt + ", role=" + role + ", userStatus=" + userStatus + ", location=" + location + "]";
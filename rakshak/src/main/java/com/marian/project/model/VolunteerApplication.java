@@ -4,15 +4,21 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "volunteer_applications")
+@Table(name = "volunteer_applications", indexes = {
+        // Status-filtered list page: equality on status, then the id DESC keyset seek
+        @Index(name = "idx_volunteer_applications_status_id", columnList = "status, application_id")
+})
 public class VolunteerApplication {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "volunteer_applications_id")
+    @TableGenerator(name = "volunteer_applications_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "volunteer_applications", initialValue = 1,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "application_id")
     private int applicationId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user; // The user applying to be a volunteer
 
@@ -1,8 +1,13 @@
 package com.marian.project.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.marian.project.model.Disaster;
@@ -11,11 +16,38 @@ import com.marian.project.model.Disaster.Severity;
 import com.marian.project.model.Disaster.Status;
 
 @Repository
-public interface DisasterRepository extends JpaRepository<Disaster, Long> {
+public interface DisasterRepository extends JpaRepository<Disaster, Long>, JpaSpecificationExecutor<Disaster> {
 
 	List<Disaster> findAll();
 	List<Disaster> findByDisasterType(DisasterType disasterType);
 	List<Disaster> findBySeverity(Severity severity);
 	List<Disaster> findByStatus(Status status);
 
+	// Row counts per status / severity / type, used to reconcile the dashboard counters
+	@Query("SELECT d.status, COUNT(d) FROM Disaster d GROUP BY d.status")
+	List<Object[]> countGroupedByStatus();
+
+	@Query("SELECT d.severity, COUNT(d) FROM Disaster d GROUP BY d.severity")
+	List<Object[]> countGroupedBySeverity();
+
+	@Query("SELECT d.disasterType, COUNT(d) FROM Disaster d GROUP BY d.disasterType")
+	List<Object[]> countGroupedByType();
+
+	// Id and coordinates of every disaster in a status that has coordinates, used to build the spatial index
+	@Query("SELECT d.disasterId, d.latitude, d.longitude FROM Disaster d " +
+	       "WHERE d.status = :status AND d.latitude IS NOT NULL AND d.longitude IS NOT NULL")
+	List<Object[]> findCoordinatesByStatus(Status status);
+
+	// Keyset page, newest first; every filter is optional (null = no filter) and only supplied ones reach the SQL
+	default List<Disaster> findPage(Long cursor, Status status, Severity severity, DisasterType disasterType,
+			LocalDateTime from, LocalDateTime to, Pageable pageable) {
+		return KeysetSpecifications.page(this, Specification.allOf(
+				KeysetSpecifications.olderThan("disasterId", cursor),
+				KeysetSpecifications.equal("status", status),
+				KeysetSpecifications.equal("severity", severity),
+				KeysetSpecifications.equal("disasterType", disasterType),
+				KeysetSpecifications.onOrAfter("reportedAt", from),
+				KeysetSpecifications.before("reportedAt", to)), "disasterId", pageable);
+	}
+
 }
@@ -0,0 +1,56 @@
+package com.marian.project.repository;
+
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Building blocks for the keyset list pages. A "(:x IS NULL OR col = :x)" query compiles to one plan for
+// every filter combination, so the database cannot use the (status, id) index even when a status is given.
+// Each piece here adds its predicate only when the caller supplied the value (a null predicate is dropped
+// when specifications are combined), so every combination of filters gets its own, index-friendly SQL.
+final class KeysetSpecifications {
+
+    private KeysetSpecifications() {
+    }
+
+    // Rows strictly older than the cursor; no cursor means the first page
+    static <T, C extends Comparable<? super C>> Specification<T> olderThan(String idAttribute, C cursor) {
+        return (root, query, cb) -> cursor == null ? null : cb.lessThan(root.<C>get(idAttribute), cursor);
+    }
+
+    static <T> Specification<T> equal(String attribute, Object value) {
+        return (root, query, cb) -> value == null ? null : cb.equal(root.get(attribute), value);
+    }
+
+    static <T> Specification<T> onOrAfter(String attribute, LocalDateTime from) {
+        return (root, query, cb) -> from == null ? null : cb.greaterThanOrEqualTo(root.<LocalDateTime>get(attribute), from);
+    }
+
+    static <T> Specification<T> before(String attribute, LocalDateTime to) {
+        return (root, query, cb) -> to == null ? null : cb.lessThan(root.<LocalDateTime>get(attribute), to);
+    }
+
+    // Loads the associations the views need in the same query
+    static <T> Specification<T> fetch(String... attributes) {
+        return (root, query, cb) -> {
+            for (String attribute : attributes) {
+                root.fetch(attribute, JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    // Newest first, at most pageable.getPageSize() rows, without the count query a Page would run
+    static <T> List<T> page(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                            String idAttribute, Pageable pageable) {
+        return repository.findBy(specification, query -> query
+                .sortBy(Sort.by(Sort.Direction.DESC, idAttribute))
+                .limit(pageable.getPageSize())
+                .all());
+    }
+}
@@ -0,0 +1,40 @@
+package com.marian.project.repository;
+
+import com.marian.project.model.MailOutboxMessage;
+import com.marian.project.model.MailOutboxMessage.MailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    // Ids of the next messages that are due for a (re)try, oldest first
+    @Query("SELECT m.id FROM MailOutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.id ASC")
+    List<Long> findDueIds(MailStatus status, LocalDateTime now, Pageable pageable);
+
+    // Take the rows that are still PENDING for one dispatcher; a row another instance already claimed is skipped
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutboxMessage m SET m.status = :sending, m.claimToken = :token, m.nextAttemptAt = :leaseUntil " +
+           "WHERE m.id IN :ids AND m.status = :pending")
+    int claim(Collection<Long> ids, String token, LocalDateTime leaseUntil, MailStatus pending, MailStatus sending);
+
+    List<MailOutboxMessage> findByClaimTokenOrderByIdAsc(String claimToken);
+
+    // Hand rows back whose dispatcher died mid-batch, once their lease has run out
+    @Transactional
+    @Modifying
+    @Query("UPDATE MailOutboxMessage m SET m.status = :pending, m.claimToken = NULL " +
+           "WHERE m.status = :sending AND m.nextAttemptAt < :now")
+    int releaseExpiredClaims(LocalDateTime now, MailStatus pending, MailStatus sending);
+
+    long countByStatus(MailStatus status);
+}
@@ -2,6 +2,7 @@ package com.marian.project.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,7 @@ import com.marian.project.model.PasswordResetToken;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
+    @EntityGraph(attributePaths = "user")
     Optional<PasswordResetToken> findByToken(String token);
 }
 
@@ -2,6 +2,8 @@ package com.marian.project.repository;
 
 import com.marian.project.model.Resource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,5 +14,18 @@ public interface ResourceRepository extends JpaRepository<Resource, Long> {
     // Find a resource by its ID
     Optional<Resource> findById(Long resourceId);
 
+    // Take stock only if enough is left; the check and the decrement are one statement, so two
+    // concurrent allocations can never both succeed on the same units. Returns 1 on success, 0 otherwise.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Resource r SET r.availableQuantity = r.availableQuantity - :quantity " +
+           "WHERE r.resourceId = :resourceId AND r.availableQuantity >= :quantity")
+    int tryAllocate(Long resourceId, int quantity);
+
+    // Add stock in place (no read-modify-write); returns 0 if the resource does not exist
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Resource r SET r.availableQuantity = COALESCE(r.availableQuantity, 0) + :quantity " +
+           "WHERE r.resourceId = :resourceId")
+    int addQuantity(Long resourceId, int quantity);
+
     // You can add other methods for custom queries if needed
 }
@@ -1,19 +1,47 @@
 package com.marian.project.repository;
 
 import com.marian.project.model.ResourceRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ResourceRequestRepository extends JpaRepository<ResourceRequest, Long> {
+public interface ResourceRequestRepository extends JpaRepository<ResourceRequest, Long>, JpaSpecificationExecutor<ResourceRequest> {
 
-    // Find all resource requests by user ID
+    // Find all resource requests by user ID, with user and resource fetched in the same query
+    @EntityGraph(attributePaths = {"user", "resource"})
 	List<ResourceRequest> findByUser_UserId(Long userId);
 
-    // Find all resource requests (for admin use)
+    // Find all resource requests (for admin use), with user and resource fetched in the same query
+    @Override
+    @EntityGraph(attributePaths = {"user", "resource"})
     List<ResourceRequest> findAll();
 
-	
+    // Claim a pending request for allocation and record how much it gets; 0 = not pending any more
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ResourceRequest rr SET rr.status = 'ALLOCATED', rr.allocatedQuantity = :quantity " +
+           "WHERE rr.requestId = :requestId AND rr.status = 'PENDING'")
+    int claimForAllocation(Long requestId, int quantity);
+
+    // Row counts per status, used to reconcile the dashboard counters
+    @Query("SELECT rr.status, COUNT(rr) FROM ResourceRequest rr GROUP BY rr.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Keyset page, newest first; only the supplied filters reach the SQL, user and resource are fetched in the same query
+    default List<ResourceRequest> findPage(Long cursor, String status, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        return KeysetSpecifications.page(this, Specification.allOf(
+                KeysetSpecifications.fetch("user", "resource"),
+                KeysetSpecifications.olderThan("requestId", cursor),
+                KeysetSpecifications.equal("status", status),
+                KeysetSpecifications.onOrAfter("requestDate", from),
+                KeysetSpecifications.before("requestDate", to)), "requestId", pageable);
+    }
 }
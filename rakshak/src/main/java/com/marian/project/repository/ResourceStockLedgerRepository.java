@@ -0,0 +1,27 @@
+package com.marian.project.repository;
+
+import com.marian.project.model.ResourceStockLedger;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ResourceStockLedgerRepository extends JpaRepository<ResourceStockLedger, Long> {
+
+    // Keyset page of one resource's movements, newest first
+    @Query("SELECT l FROM ResourceStockLedger l WHERE l.resourceId = :resourceId " +
+           "AND (:cursor IS NULL OR l.id < :cursor) ORDER BY l.id DESC")
+    List<ResourceStockLedger> findPage(Long resourceId, Long cursor, Pageable pageable);
+
+    // Opening balance for resources that existed before the ledger did
+    @Modifying
+    @Query(value = "INSERT INTO resource_stock_ledger (resource_id, delta, reason, created_at) " +
+                   "SELECT r.resource_id, COALESCE(r.available_quantity, 0), 'INITIAL', NOW() FROM resource r " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM resource_stock_ledger l WHERE l.resource_id = r.resource_id)",
+           nativeQuery = true)
+    int insertMissingOpeningBalances();
+}
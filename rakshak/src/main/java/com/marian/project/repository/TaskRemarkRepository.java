@@ -0,0 +1,23 @@
+package com.marian.project.repository;
+
+import com.marian.project.model.TaskRemark;
+import com.marian.project.model.TaskRemark.AuthorRole;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskRemarkRepository extends JpaRepository<TaskRemark, Long> {
+
+    // One task's whole remark history, oldest first
+    List<TaskRemark> findByTaskIdOrderByIdAsc(Integer taskId);
+
+    // Keyset page of one task's remarks (optionally one role's), newest first
+    @Query("SELECT r FROM TaskRemark r WHERE r.taskId = :taskId " +
+           "AND (:authorRole IS NULL OR r.authorRole = :authorRole) " +
+           "AND (:cursor IS NULL OR r.id < :cursor) ORDER BY r.id DESC")
+    List<TaskRemark> findPage(Integer taskId, AuthorRole authorRole, Long cursor, Pageable pageable);
+}
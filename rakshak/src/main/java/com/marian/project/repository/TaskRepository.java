@@ -4,6 +4,8 @@ package com.marian.project.repository;
 import com.marian.project.model.Task;
 import com.marian.project.model.Task.TaskStatus;
 import com.marian.project.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -13,7 +15,18 @@ import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
+    // Associations are lazy; loaders whose tasks go to views or the in-memory indexes fetch
+    // the request, its requester and disaster, and the volunteer in the same query
+    @Override
+    @EntityGraph(attributePaths = {"taskRequest", "taskRequest.user", "taskRequest.disaster", "volunteer"})
+    Optional<Task> findById(Integer taskId);
+
+    @Override
+    @EntityGraph(attributePaths = {"taskRequest", "taskRequest.user", "taskRequest.disaster", "volunteer"})
+    List<Task> findAllById(Iterable<Integer> taskIds);
+
     // Find tasks by volunteer
+    @EntityGraph(attributePaths = {"taskRequest", "taskRequest.user", "taskRequest.disaster", "volunteer"})
     List<Task> findByVolunteer(User volunteer);
     
     // Find tasks by status
@@ -29,10 +42,55 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     @Query("UPDATE Task t SET t.status = :status WHERE t.taskId = :taskId")
     void updateTaskStatus(Integer taskId, TaskStatus status);
     
+    // Claim a task for a volunteer in one statement; returns 0 if it was already taken or is no longer pending
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET t.volunteer = :volunteer, t.status = :claimedStatus " +
+           "WHERE t.taskId = :taskId AND t.volunteer IS NULL AND t.status = :openStatus")
+    int claimTask(Integer taskId, User volunteer, TaskStatus openStatus, TaskStatus claimedStatus);
+
+    // Id and assigned volunteer of one task, without loading the task
+    @Query("SELECT t.taskId, v.userId FROM Task t LEFT JOIN t.volunteer v WHERE t.taskId = :taskId")
+    List<Object[]> findRemarkTarget(Integer taskId);
+
+    // The remark columns only hold the latest remark (history is in task_remarks), so these are blind writes
+    @Modifying
+    @Query("UPDATE Task t SET t.volunteerRemarks = :remarks WHERE t.taskId = :taskId")
+    int updateLatestVolunteerRemark(Integer taskId, String remarks);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.adminRemarks = :remarks WHERE t.taskId = :taskId")
+    int updateLatestAdminRemark(Integer taskId, String remarks);
+
+    // Tasks whose old remark blobs have not been split into task_remarks yet, in id order
+    @Query("SELECT t.taskId, v.userId, t.volunteerRemarks, t.adminRemarks, t.createdAt FROM Task t LEFT JOIN t.volunteer v " +
+           "WHERE t.taskId > :afterTaskId AND (t.volunteerRemarks IS NOT NULL OR t.adminRemarks IS NOT NULL) " +
+           "AND NOT EXISTS (SELECT 1 FROM TaskRemark r WHERE r.taskId = t.taskId) ORDER BY t.taskId")
+    List<Object[]> findUnmigratedRemarks(Integer afterTaskId, Pageable pageable);
+
     // Check if a task request is already assigned
     boolean existsByTaskRequest_RequestId(Integer requestId);
     
     // Get available tasks for volunteers
+    @EntityGraph(attributePaths = {"taskRequest", "taskRequest.user", "taskRequest.disaster"})
     @Query("SELECT t FROM Task t WHERE t.status = 'PENDING' AND t.volunteer IS NULL")
     List<Task> findAvailableTasks();
+
+    // Id and request coordinates of every unassigned task in a status, used to build the spatial index
+    @Query("SELECT t.taskId, tr.latitude, tr.longitude FROM Task t JOIN t.taskRequest tr " +
+           "WHERE t.status = :status AND t.volunteer IS NULL AND tr.latitude IS NOT NULL AND tr.longitude IS NOT NULL")
+    List<Object[]> findOpenTaskCoordinates(TaskStatus status);
+
+    // Per volunteer: number of tasks in a status and the newest one's creation time
+    @Query("SELECT t.volunteer.userId, COUNT(t), MAX(t.createdAt) FROM Task t " +
+           "WHERE t.status = :status AND t.volunteer IS NOT NULL GROUP BY t.volunteer.userId")
+    List<Object[]> countByVolunteerForStatus(TaskStatus status);
+
+    // What the available-task queue orders by, for every unassigned task in a status
+    @Query("SELECT t.taskId, t.deadline, t.createdAt, d.severity FROM Task t JOIN t.taskRequest tr LEFT JOIN tr.disaster d " +
+           "WHERE t.status = :status AND t.volunteer IS NULL")
+    List<Object[]> findQueueEntries(TaskStatus status);
+
+    // Row counts per status, used to reconcile the dashboard counters
+    @Query("SELECT t.status, COUNT(t) FROM Task t GROUP BY t.status")
+    List<Object[]> countGroupedByStatus();
 }
\ No newline at end of file
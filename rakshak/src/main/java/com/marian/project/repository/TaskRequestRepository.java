@@ -3,23 +3,57 @@ package com.marian.project.repository;
 import com.marian.project.model.TaskRequest;
 import com.marian.project.model.TaskRequest.RequestStatus;
 import com.marian.project.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRequestRepository extends JpaRepository<TaskRequest, Integer> {
+public interface TaskRequestRepository extends JpaRepository<TaskRequest, Integer>, JpaSpecificationExecutor<TaskRequest> {
+    // Requester and disaster are lazy; every loader that feeds a view fetches them in the same query
+    @Override
+    @EntityGraph(attributePaths = {"user", "disaster"})
+    Optional<TaskRequest> findById(Integer requestId);
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "disaster"})
+    List<TaskRequest> findAll();
+
     // Find task requests by user
+    @EntityGraph(attributePaths = {"user", "disaster"})
     List<TaskRequest> findByUser(User user);
 
     // Find task requests by status
+    @EntityGraph(attributePaths = {"user", "disaster"})
     List<TaskRequest> findByStatus(TaskRequest.RequestStatus status);
     // Update task request status
     @Modifying
     @Query("UPDATE TaskRequest tr SET tr.status = :status WHERE tr.requestId = :requestId")
     void updateTaskRequestStatus(Integer requestId, RequestStatus status);
 
-	
+    // Unlink every task request from a disaster that is about to be deleted
+    @Modifying
+    @Query("UPDATE TaskRequest tr SET tr.disaster = NULL WHERE tr.disaster.disasterId = :disasterId")
+    int clearDisaster(Long disasterId);
+
+    // Row counts per status, used to reconcile the dashboard counters
+    @Query("SELECT tr.status, COUNT(tr) FROM TaskRequest tr GROUP BY tr.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Keyset page, newest first; every filter is optional (null = no filter) and only supplied ones reach the SQL
+    default List<TaskRequest> findPage(Integer cursor, RequestStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        return KeysetSpecifications.page(this, Specification.allOf(
+                KeysetSpecifications.fetch("user", "disaster"),
+                KeysetSpecifications.olderThan("requestId", cursor),
+                KeysetSpecifications.equal("status", status),
+                KeysetSpecifications.onOrAfter("createdAt", from),
+                KeysetSpecifications.before("createdAt", to)), "requestId", pageable);
+    }
 }
\ No newline at end of file
@@ -1,18 +1,58 @@
 package com.marian.project.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.marian.project.dto.UserPrincipal;
 import com.marian.project.model.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
 	
 	// Custom query method to find a user by email
 	Optional<User> findByEmail(String email);
 
+    // Everything the login path needs, in one query and without hydrating the entity
+    @Query("SELECT new com.marian.project.dto.UserPrincipal(u.userId, u.name, u.email, u.role, u.userStatus, u.password) " +
+           "FROM User u WHERE u.email = :email")
+    Optional<UserPrincipal> findPrincipalByEmail(String email);
+
     // Correct method to find a user by userId
     Optional<User> findByUserId(Long userId); // Assuming 'userId' is the correct field in User entity
+
+    // Which of these emails are already registered (lower-cased), one query per import chunk
+    @Query("SELECT LOWER(u.email) FROM User u WHERE LOWER(u.email) IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    // Row counts per role, used to reconcile the dashboard counters
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countGroupedByRole();
+
+    // Emails of active users with the given role ("All" = every active user), for mass alerts
+    @Query("SELECT u.email FROM User u WHERE LOWER(u.userStatus) = 'active' AND (:role = 'All' OR u.role = :role)")
+    List<String> findActiveEmailsByRole(String role);
+
+    // Id, name and coordinates of every active volunteer, used to build the matching engine's cache
+    @Query("SELECT u.userId, u.name, u.latitude, u.longitude FROM User u " +
+           "WHERE LOWER(TRIM(u.role)) = 'volunteer' AND LOWER(u.userStatus) = 'active'")
+    List<Object[]> findActiveVolunteerLocations();
+
+    // Keyset page, newest first; every filter is optional (null = no filter) and only supplied ones reach the SQL
+    default List<User> findPage(Integer cursor, String role, String userStatus, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        return KeysetSpecifications.page(this, Specification.allOf(
+                KeysetSpecifications.olderThan("userId", cursor),
+                KeysetSpecifications.equal("role", role),
+                KeysetSpecifications.equal("userStatus", userStatus),
+                KeysetSpecifications.onOrAfter("createdAt", from),
+                KeysetSpecifications.before("createdAt", to)), "userId", pageable);
+    }
 }
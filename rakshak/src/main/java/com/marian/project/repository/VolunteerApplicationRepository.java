@@ -1,14 +1,46 @@
 package com.marian.project.repository;
 
 import com.marian.project.model.VolunteerApplication;
+import com.marian.project.model.VolunteerApplication.ApplicationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+
+public interface VolunteerApplicationRepository extends JpaRepository<VolunteerApplication, Integer>, JpaSpecificationExecutor<VolunteerApplication> {
+
+    // The applicant is lazy; list and detail views fetch it in the same query
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<VolunteerApplication> findAll();
 
-public interface VolunteerApplicationRepository extends JpaRepository<VolunteerApplication, Integer> {
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<VolunteerApplication> findById(Integer applicationId);
 
     // Find applications by status (e.g., PENDING, APPROVED, REJECTED)
     List<VolunteerApplication> findByStatus(String status);
 
     // Find applications by user ID
     List<VolunteerApplication> findByUser_UserId(int userId);
+
+    // Row counts per status, used to reconcile the dashboard counters
+    @Query("SELECT va.status, COUNT(va) FROM VolunteerApplication va GROUP BY va.status")
+    List<Object[]> countGroupedByStatus();
+
+    // Keyset page, newest first; only the supplied filters reach the SQL, the applicant is fetched in the same query
+    default List<VolunteerApplication> findPage(Integer cursor, ApplicationStatus status, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        return KeysetSpecifications.page(this, Specification.allOf(
+                KeysetSpecifications.fetch("user"),
+                KeysetSpecifications.olderThan("applicationId", cursor),
+                KeysetSpecifications.equal("status", status),
+                KeysetSpecifications.onOrAfter("applicationDate", from),
+                KeysetSpecifications.before("applicationDate", to)), "applicationId", pageable);
+    }
 }
@@ -0,0 +1,34 @@
+package com.marian.project.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// In-memory state (dashboard counters, spatial index, claim queue, matcher, push streams, caches) may only
+// learn about a change once its transaction has committed; a rollback would otherwise leave it describing
+// rows that never existed. Without a transaction the action runs at once.
+final class AfterCommit {
+
+    // Set while callbacks run: synchronizations registered from inside afterCommit would never be called
+    private static final ThreadLocal<Boolean> RUNNING = new ThreadLocal<>();
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (RUNNING.get() != null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                RUNNING.set(Boolean.TRUE);
+                try {
+                    action.run();
+                } finally {
+                    RUNNING.remove();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package com.marian.project.service;
+
+// How a batch allocation shares out a resource when the selected requests want more than is in stock
+public enum AllocationPolicy {
+    // Oldest request first; each request is served in full or not at all
+    FIFO,
+    // Highest severity first (then oldest); each request is served in full or not at all
+    SEVERITY,
+    // Every request gets the same fraction of what it asked for
+    PROPORTIONAL
+}
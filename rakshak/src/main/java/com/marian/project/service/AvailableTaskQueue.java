@@ -0,0 +1,164 @@
+package com.marian.project.service;
+
+import com.marian.project.model.Disaster;
+import com.marian.project.model.Task;
+import com.marian.project.model.Task.TaskStatus;
+import com.marian.project.model.TaskRequest;
+import com.marian.project.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Available tasks (PENDING, no volunteer) kept in priority order so "the next best N" is a walk
+// over the head of a skip list. Priority is the deadline pulled forward by the linked disaster's
+// severity (HIGH by severity-boost-hours.high, MEDIUM by .medium), then age, then id. Only ids and
+// sort keys are held here; the task services report every change and a periodic rebuild from the
+// database repairs any drift.
+@Component
+public class AvailableTaskQueue {
+
+    private static final Comparator<Entry> PRIORITY = Comparator.comparingLong((Entry entry) -> entry.urgency)
+            .thenComparingLong(entry -> entry.createdAt)
+            .thenComparingInt(entry -> entry.taskId);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final long highBoostMillis;
+    private final long mediumBoostMillis;
+
+    private final NavigableSet<Entry> queue = new ConcurrentSkipListSet<>(PRIORITY);
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    // taskId -> when it last left the queue, so a rebuild does not bring back a task claimed mid-rebuild
+    private final Map<Integer, Long> removedAt = new ConcurrentHashMap<>();
+
+    public AvailableTaskQueue(@Value("${rakshak.tasks.queue.severity-boost-hours.high:48}") long highBoostHours,
+                              @Value("${rakshak.tasks.queue.severity-boost-hours.medium:24}") long mediumBoostHours) {
+        this.highBoostMillis = highBoostHours * 3_600_000L;
+        this.mediumBoostMillis = mediumBoostHours * 3_600_000L;
+    }
+
+    // Record a task create / claim / status change
+    public void taskChanged(Task task) {
+        if (task.getStatus() == TaskStatus.PENDING && task.getVolunteer() == null) {
+            TaskRequest request = task.getTaskRequest();
+            Disaster disaster = request == null ? null : request.getDisaster();
+            put(task.getTaskId(), task.getDeadline(), task.getCreatedAt(), disaster == null ? null : disaster.getSeverity());
+        } else {
+            remove(task.getTaskId());
+        }
+    }
+
+    public void taskRemoved(int taskId) {
+        remove(taskId);
+    }
+
+    // Ids of the highest-priority available tasks, best first
+    public List<Integer> peek(int limit) {
+        List<Integer> ids = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<Entry> iterator = queue.iterator();
+        while (ids.size() < limit && iterator.hasNext()) {
+            ids.add(iterator.next().taskId);
+        }
+        return ids;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Reload from the database (at startup, then periodically)
+    @Scheduled(initialDelay = 0, fixedDelayString = "${rakshak.tasks.queue.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        Map<Integer, Entry> loaded = new HashMap<>();
+        for (Object[] row : taskRepository.findQueueEntries(TaskStatus.PENDING)) {
+            Entry entry = entryOf((Integer) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2], (Disaster.Severity) row[3]);
+            loaded.put(entry.taskId, entry);
+        }
+        synchronized (this) {
+            // Changes reported after the query started may not be visible to it yet, so they win
+            for (Entry entry : new ArrayList<>(entries.values())) {
+                if (!loaded.containsKey(entry.taskId) && entry.indexedAt < startedAt) {
+                    remove(entry.taskId);
+                }
+            }
+            for (Entry entry : loaded.values()) {
+                Entry current = entries.get(entry.taskId);
+                long lastChange = current != null ? current.indexedAt : removedAt.getOrDefault(entry.taskId, 0L);
+                if (lastChange < startedAt) {
+                    put(entry);
+                }
+            }
+            removedAt.values().removeIf(time -> time < startedAt);
+        }
+    }
+
+    private synchronized void put(int taskId, LocalDateTime deadline, LocalDateTime createdAt, Disaster.Severity severity) {
+        put(entryOf(taskId, deadline, createdAt, severity));
+    }
+
+    // Caller holds the monitor
+    private void put(Entry entry) {
+        Entry previous = entries.put(entry.taskId, entry);
+        if (previous != null) {
+            queue.remove(previous);
+        }
+        queue.add(entry);
+    }
+
+    private synchronized void remove(int taskId) {
+        Entry previous = entries.remove(taskId);
+        if (previous != null) {
+            queue.remove(previous);
+            removedAt.put(taskId, System.currentTimeMillis());
+        }
+    }
+
+    private Entry entryOf(int taskId, LocalDateTime deadline, LocalDateTime createdAt, Disaster.Severity severity) {
+        long created = createdAt == null ? 0 : toEpochMillis(createdAt);
+        // No deadline sorts after every task that has one
+        long urgency = deadline == null ? Long.MAX_VALUE : toEpochMillis(deadline) - boostFor(severity);
+        return new Entry(taskId, urgency, created);
+    }
+
+    private long boostFor(Disaster.Severity severity) {
+        if (severity == Disaster.Severity.HIGH) {
+            return highBoostMillis;
+        }
+        if (severity == Disaster.Severity.MEDIUM) {
+            return mediumBoostMillis;
+        }
+        return 0;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Entry {
+        private final int taskId;
+        private final long urgency;
+        private final long createdAt;
+        private final long indexedAt = System.currentTimeMillis();
+
+        private Entry(int taskId, long urgency, long createdAt) {
+            this.taskId = taskId;
+            this.urgency = urgency;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.marian.project.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// Inserts thousands of new entities inside the caller's transaction. Rows are persisted a chunk at a
+// time and the persistence context is flushed and cleared after each chunk, so Hibernate sends JDBC
+// batches (hibernate.jdbc.batch_size) and memory stays flat however large the request is.
+@Service
+public class BulkInsertService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${rakshak.bulk.max-rows:5000}")
+    private int maxRows;
+
+    @Value("${rakshak.bulk.flush-every:500}")
+    private int flushEvery;
+
+    // Reject empty, oversized or null-containing requests before anything is written
+    public void checkSize(List<?> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one row is required");
+        }
+        if (rows.size() > maxRows) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxRows + " rows per request");
+        }
+        if (rows.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rows must not be null");
+        }
+    }
+
+    // Must run in a transaction; returns the generated ids in input order. Entities are detached afterwards.
+    public <T, ID> List<ID> insertAll(JpaRepository<T, ID> repository, List<T> rows, Function<T, ID> idOf) {
+        checkSize(rows);
+        List<ID> ids = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += flushEvery) {
+            List<T> chunk = rows.subList(from, Math.min(rows.size(), from + flushEvery));
+            repository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            chunk.forEach(row -> ids.add(idOf.apply(row)));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,181 @@
+package com.marian.project.service;
+
+import com.marian.project.repository.DisasterRepository;
+import com.marian.project.repository.ResourceRequestRepository;
+import com.marian.project.repository.TaskRepository;
+import com.marian.project.repository.TaskRequestRepository;
+import com.marian.project.repository.UserRepository;
+import com.marian.project.repository.VolunteerApplicationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+// Keeps the admin dashboard counts in memory so a dashboard load does not scan any table.
+// The other services report every create / status change / delete here, applied once the change has
+// committed; a periodic reconcile re-reads the real counts with GROUP BY queries to repair any drift
+// (direct DB edits, other instances).
+@Service
+public class DashboardService {
+
+    // Counter groups, "<section>.<breakdown>"
+    public static final String DISASTERS_BY_STATUS = "disasters.byStatus";
+    public static final String DISASTERS_BY_SEVERITY = "disasters.bySeverity";
+    public static final String DISASTERS_BY_TYPE = "disasters.byType";
+    public static final String TASK_REQUESTS_BY_STATUS = "taskRequests.byStatus";
+    public static final String TASKS_BY_STATUS = "tasks.byStatus";
+    public static final String RESOURCE_REQUESTS_BY_STATUS = "resourceRequests.byStatus";
+    public static final String VOLUNTEER_APPLICATIONS_BY_STATUS = "volunteerApplications.byStatus";
+    public static final String USERS_BY_ROLE = "users.byRole";
+
+    @Autowired
+    private DisasterRepository disasterRepository;
+
+    @Autowired
+    private TaskRequestRepository taskRequestRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ResourceRequestRepository resourceRequestRepository;
+
+    @Autowired
+    private VolunteerApplicationRepository volunteerApplicationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<String, CounterGroup> counters = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime reconciledAt;
+
+    // Record that a row moved from one value to another within a group.
+    // from == null means the row was created, to == null means it was deleted.
+    public void move(String group, Object from, Object to) {
+        move(group, from, to, 1);
+    }
+
+    // Same as move(group, from, to) for a bulk change of n rows. Inside a transaction the move waits for
+    // the commit, so a rolled back change never reaches the counters.
+    public void move(String group, Object from, Object to, long n) {
+        if (n == 0 || (from != null && from.equals(to))) {
+            return;
+        }
+        AfterCommit.run(() -> apply(group, from, to, n));
+    }
+
+    private void apply(String group, Object from, Object to, long n) {
+        CounterGroup groupCounters = groupOf(group);
+        // Shared with other moves, exclusive with a reconcile of the same group
+        groupCounters.lock.readLock().lock();
+        try {
+            if (from != null) {
+                groupCounters.values.computeIfAbsent(keyOf(from), k -> new LongAdder()).add(-n);
+            }
+            if (to != null) {
+                groupCounters.values.computeIfAbsent(keyOf(to), k -> new LongAdder()).add(n);
+            }
+        } finally {
+            groupCounters.lock.readLock().unlock();
+        }
+    }
+
+    // Snapshot of every counter, grouped per section with a total
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (Map.Entry<String, CounterGroup> group : new TreeMap<>(counters).entrySet()) {
+            String[] name = group.getKey().split("\\.", 2);
+            @SuppressWarnings("unchecked")
+            Map<String, Object> section = (Map<String, Object>) summary.computeIfAbsent(name[0], s -> new LinkedHashMap<>());
+
+            Map<String, Long> breakdown = new TreeMap<>();
+            long total = 0;
+            for (Map.Entry<String, LongAdder> counter : group.getValue().values.entrySet()) {
+                long value = counter.getValue().sum();
+                if (value != 0) {
+                    breakdown.put(counter.getKey(), value);
+                }
+                total += value;
+            }
+            section.put("total", total);
+            section.put(name[1], breakdown);
+        }
+        summary.put("reconciledAt", reconciledAt);
+        return summary;
+    }
+
+    // Current value of a single counter (0 when never seen)
+    public long getCount(String group, Object key) {
+        CounterGroup groupCounters = counters.get(group);
+        if (groupCounters == null) {
+            return 0;
+        }
+        LongAdder adder = groupCounters.values.get(keyOf(key));
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // Rebuild every counter from the database; runs at startup and then periodically
+    @Scheduled(initialDelay = 0, fixedDelayString = "${rakshak.dashboard.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        reconcile(DISASTERS_BY_STATUS, disasterRepository::countGroupedByStatus);
+        reconcile(DISASTERS_BY_SEVERITY, disasterRepository::countGroupedBySeverity);
+        reconcile(DISASTERS_BY_TYPE, disasterRepository::countGroupedByType);
+        reconcile(TASK_REQUESTS_BY_STATUS, taskRequestRepository::countGroupedByStatus);
+        reconcile(TASKS_BY_STATUS, taskRepository::countGroupedByStatus);
+        reconcile(RESOURCE_REQUESTS_BY_STATUS, resourceRequestRepository::countGroupedByStatus);
+        reconcile(VOLUNTEER_APPLICATIONS_BY_STATUS, volunteerApplicationRepository::countGroupedByStatus);
+        reconcile(USERS_BY_ROLE, userRepository::countGroupedByRole);
+        reconciledAt = LocalDateTime.now();
+    }
+
+    // Moves of this group wait while its counts are read, so none lands between the GROUP BY and the
+    // correction. The correction is applied as a delta to the live adders rather than by swapping in a
+    // new map, which would drop any move made against the old one.
+    private void reconcile(String group, Supplier<List<Object[]>> query) {
+        CounterGroup groupCounters = groupOf(group);
+        groupCounters.lock.writeLock().lock();
+        try {
+            Map<String, Long> fresh = new HashMap<>();
+            for (Object[] row : query.get()) {
+                fresh.merge(keyOf(row[0]), ((Number) row[1]).longValue(), Long::sum);
+            }
+            for (String key : groupCounters.values.keySet()) {
+                fresh.putIfAbsent(key, 0L);
+            }
+            fresh.forEach((key, count) -> {
+                LongAdder adder = groupCounters.values.computeIfAbsent(key, k -> new LongAdder());
+                adder.add(count - adder.sum());
+            });
+        } finally {
+            groupCounters.lock.writeLock().unlock();
+        }
+    }
+
+    private CounterGroup groupOf(String group) {
+        return counters.computeIfAbsent(group, g -> new CounterGroup());
+    }
+
+    // Enum constants and plain strings are both keyed by their text; nulls get their own bucket
+    private String keyOf(Object value) {
+        if (value == null) {
+            return "UNKNOWN";
+        }
+        return value instanceof Enum<?> e ? e.name() : value.toString();
+    }
+
+    private static final class CounterGroup {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, LongAdder> values = new ConcurrentHashMap<>();
+    }
+}
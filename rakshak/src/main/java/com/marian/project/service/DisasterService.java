@@ -1,9 +1,15 @@
 package com.marian.project.service;
 
+import com.marian.project.dto.BulkCreateResultDTO;
+import com.marian.project.dto.PageResponse;
 import com.marian.project.model.Disaster;
 import com.marian.project.repository.DisasterRepository;
+import com.marian.project.repository.TaskRequestRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,16 +17,40 @@ import java.util.Optional;
 public class DisasterService {
 
     private final DisasterRepository disasterRepository;
+    private final DashboardService dashboardService;
+    private final GeoSearchService geoSearchService;
+    private final TaskRequestRepository taskRequestRepository;
+    private final BulkInsertService bulkInsertService;
 
     // Constructor-based dependency injection (no need for @Autowired since it's the only constructor)
-    public DisasterService(DisasterRepository disasterRepository) {
+    public DisasterService(DisasterRepository disasterRepository, DashboardService dashboardService,
+                           GeoSearchService geoSearchService, TaskRequestRepository taskRequestRepository,
+                           BulkInsertService bulkInsertService) {
         this.disasterRepository = disasterRepository;
+        this.dashboardService = dashboardService;
+        this.geoSearchService = geoSearchService;
+        this.taskRequestRepository = taskRequestRepository;
+        this.bulkInsertService = bulkInsertService;
     }
 
     // Create a new disaster with the reported time set automatically
     public Disaster createDisaster(Disaster disaster) {
         // Disaster will have the 'reportedAt' field automatically set due to @PrePersist in model
-        return disasterRepository.save(disaster);
+        Disaster saved = disasterRepository.save(disaster);
+        recordCounts(null, saved);
+        geoSearchService.disasterChanged(saved);
+        return saved;
+    }
+
+    // Create many disasters in one transaction, inserted in JDBC batches
+    @Transactional
+    public BulkCreateResultDTO<Long> createDisasters(List<Disaster> disasters) {
+        List<Long> ids = bulkInsertService.insertAll(disasterRepository, disasters, Disaster::getDisasterId);
+        for (Disaster saved : disasters) {
+            recordCounts(null, saved);
+            AfterCommit.run(() -> geoSearchService.disasterChanged(saved));
+        }
+        return new BulkCreateResultDTO<>(ids);
     }
 
     // Update an existing disaster
@@ -29,22 +59,33 @@ public class DisasterService {
         Optional<Disaster> existingDisaster = disasterRepository.findById(disasterId);
         if (existingDisaster.isPresent()) {
             Disaster disaster = existingDisaster.get();
+            Disaster before = snapshotOf(disaster);
             disaster.setName(disasterDetails.getName());
             disaster.setDescription(disasterDetails.getDescription());
             disaster.setLocation(disasterDetails.getLocation());
+            disaster.setLatitude(disasterDetails.getLatitude());
+            disaster.setLongitude(disasterDetails.getLongitude());
             disaster.setDisasterType(disasterDetails.getDisasterType());
             disaster.setSeverity(disasterDetails.getSeverity());
             disaster.setStatus(disasterDetails.getStatus());
             // Save and return updated disaster
-            return disasterRepository.save(disaster);
+            Disaster saved = disasterRepository.save(disaster);
+            recordCounts(before, saved);
+            geoSearchService.disasterChanged(saved);
+            return saved;
         }
         return null; // Return null if disaster with given ID doesn't exist
     }
 
-    // Delete a disaster
+    // Delete a disaster (task requests linked to it are kept and simply unlinked)
+    @Transactional
     public boolean deleteDisaster(Long disasterId) {
-        if (disasterRepository.existsById(disasterId)) {
-            disasterRepository.deleteById(disasterId);
+        Optional<Disaster> existingDisaster = disasterRepository.findById(disasterId);
+        if (existingDisaster.isPresent()) {
+            taskRequestRepository.clearDisaster(disasterId);
+            disasterRepository.delete(existingDisaster.get());
+            recordCounts(existingDisaster.get(), null);
+            AfterCommit.run(() -> geoSearchService.disasterRemoved(disasterId));
             return true; // Return true if disaster is successfully deleted
         }
         return false; // Return false if disaster doesn't exist
@@ -55,6 +96,16 @@ public class DisasterService {
         return disasterRepository.findAll(); // Return a list of all disasters
     }
 
+    // Retrieve one keyset page of disasters matching the (optional) filters
+    public PageResponse<Disaster> getDisasterPage(Long cursor, Disaster.Status status, Disaster.Severity severity,
+                                                  Disaster.DisasterType disasterType, LocalDateTime from, LocalDateTime to,
+                                                  Integer limit) {
+        int pageSize = PageResponse.clampLimit(limit);
+        List<Disaster> rows = disasterRepository.findPage(cursor, status, severity, disasterType, from, to,
+                PageRequest.of(0, pageSize + 1));
+        return PageResponse.of(rows, pageSize, Disaster::getDisasterId);
+    }
+
     // Retrieve a disaster by ID
     public Disaster getDisasterById(Long disasterId) {
         return disasterRepository.findById(disasterId).orElse(null); // Return disaster if found, else null
@@ -74,4 +125,23 @@ public class DisasterService {
     public List<Disaster> getDisastersByStatus(Disaster.Status status) {
         return disasterRepository.findByStatus(status); // Find and return disasters by status
     }
+
+    // Keep the dashboard counters in step with a create (before == null), update or delete (after == null)
+    private void recordCounts(Disaster before, Disaster after) {
+        dashboardService.move(DashboardService.DISASTERS_BY_STATUS,
+                before == null ? null : before.getStatus(), after == null ? null : after.getStatus());
+        dashboardService.move(DashboardService.DISASTERS_BY_SEVERITY,
+                before == null ? null : before.getSeverity(), after == null ? null : after.getSeverity());
+        dashboardService.move(DashboardService.DISASTERS_BY_TYPE,
+                before == null ? null : before.getDisasterType(), after == null ? null : after.getDisasterType());
+    }
+
+    // Copy of the counted fields, taken before an entity is modified in place
+    private Disaster snapshotOf(Disaster disaster) {
+        Disaster copy = new Disaster();
+        copy.setStatus(disaster.getStatus());
+        copy.setSeverity(disaster.getSeverity());
+        copy.setDisasterType(disaster.getDisasterType());
+        return copy;
+    }
 }
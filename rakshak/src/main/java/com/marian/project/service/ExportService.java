@@ -0,0 +1,279 @@
+package com.marian.project.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Streams whole tables out for reporting. Rows are read through a forward-only JDBC cursor
+// (fetch-size rows at a time; with useCursorFetch the MySQL driver keeps the rest on the server)
+// and written straight to the output stream as NDJSON or CSV, so memory use stays flat no matter
+// how many rows are exported. Each dataset is a flat query with the useful joined columns.
+// Exports get their own small pool: useCursorFetch turns every statement with a fetch size into a
+// server-side prepared cursor, which the rest of the app should not pay for, and a slow download
+// holds its connection for minutes without starving the main pool.
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    public enum Dataset {
+        RESOURCE_REQUESTS("resource_request", "rr.request_date",
+                "SELECT rr.request_id, rr.status, rr.severity, rr.requested_quantity, rr.allocated_quantity, " +
+                "rr.location, rr.latitude, rr.longitude, rr.request_date, " +
+                "r.resource_id, r.name AS resource_name, r.type AS resource_type, " +
+                "u.user_id, u.name AS user_name, u.email AS user_email " +
+                "FROM resource_request rr " +
+                "LEFT JOIN resource r ON r.resource_id = rr.resource_id " +
+                "LEFT JOIN user u ON u.user_id = rr.user_id",
+                "rr.request_id"),
+        TASK_REQUESTS("task_requests", "tr.created_at",
+                "SELECT tr.request_id, tr.status, tr.request_title, tr.request_description, tr.location, " +
+                "tr.latitude, tr.longitude, tr.disaster_id, tr.created_at, tr.updated_at, " +
+                "u.user_id, u.name AS user_name, u.email AS user_email " +
+                "FROM task_requests tr " +
+                "LEFT JOIN user u ON u.user_id = tr.user_id",
+                "tr.request_id"),
+        TASKS("tasks", "t.created_at",
+                "SELECT t.task_id, t.request_id, t.status, t.created_at, t.deadline, " +
+                "t.volunteer_id, v.name AS volunteer_name, t.volunteer_remarks, t.admin_remarks " +
+                "FROM tasks t " +
+                "LEFT JOIN user v ON v.user_id = t.volunteer_id",
+                "t.task_id"),
+        DISASTERS("disasters", "d.reported_at",
+                "SELECT d.disaster_id, d.name, d.disaster_type, d.severity, d.status, d.location, " +
+                "d.latitude, d.longitude, d.description, d.reported_at " +
+                "FROM disasters d",
+                "d.disaster_id");
+
+        private final String fileName;
+        private final String timeColumn;
+        private final String select;
+        private final String orderColumn;
+
+        Dataset(String fileName, String timeColumn, String select, String orderColumn) {
+            this.fileName = fileName;
+            this.timeColumn = timeColumn;
+            this.select = select;
+            this.orderColumn = orderColumn;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        // URL form: resource-requests, task-requests, tasks, disasters
+        public static Dataset fromPath(String value) {
+            return Dataset.valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(DataSourceProperties dataSourceProperties, ObjectMapper objectMapper,
+                         @Value("${rakshak.export.fetch-size:1000}") int fetchSize,
+                         @Value("${rakshak.export.pool-size:2}") int poolSize) {
+        // Same database and credentials as the main pool; connections are opened on the first export
+        this.dataSource = new HikariDataSource();
+        this.dataSource.setPoolName("export");
+        this.dataSource.setJdbcUrl(dataSourceProperties.determineUrl());
+        this.dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        this.dataSource.setUsername(dataSourceProperties.determineUsername());
+        this.dataSource.setPassword(dataSourceProperties.determinePassword());
+        this.dataSource.setMaximumPoolSize(poolSize);
+        this.dataSource.setMinimumIdle(0);
+        this.dataSource.setReadOnly(true);
+        if (dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            // Connector/J only; without it the driver reads the whole result set into memory
+            this.dataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dataSource.close();
+    }
+
+    // Write every row of the dataset (optionally only rows created in [from, to)) to out; returns the row count
+    public long export(Dataset dataset, Format format, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(dataset.select).append(" WHERE 1 = 1");
+        if (from != null) {
+            sql.append(" AND ").append(dataset.timeColumn).append(" >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND ").append(dataset.timeColumn).append(" < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY ").append(dataset.orderColumn);
+
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        try {
+            Long rows = jdbcTemplate.query(sql.toString(), writer, params.toArray());
+            return rows == null ? 0 : rows;
+        } catch (UncheckedIOException e) {
+            // The client went away mid-stream; the template has already closed the cursor
+            throw e.getCause();
+        }
+    }
+
+    private abstract static class RowWriter implements ResultSetExtractor<Long> {
+        protected String[] columns;
+
+        @Override
+        public Long extractData(ResultSet rs) throws SQLException {
+            try {
+                ResultSetMetaData meta = rs.getMetaData();
+                columns = new String[meta.getColumnCount()];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = toCamelCase(meta.getColumnLabel(i + 1));
+                }
+                start();
+                long rows = 0;
+                while (rs.next()) {
+                    write(rs);
+                    rows++;
+                }
+                finish();
+                return rows;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        protected abstract void start() throws IOException;
+
+        protected abstract void write(ResultSet rs) throws SQLException, IOException;
+
+        protected abstract void finish() throws IOException;
+
+        // Timestamps as ISO-8601 text, everything else as the driver returns it
+        protected static Object valueOf(ResultSet rs, int column) throws SQLException {
+            Object value = rs.getObject(column);
+            if (value instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime().toString();
+            }
+            if (value instanceof LocalDateTime time) {
+                return time.toString();
+            }
+            return value;
+        }
+
+        private static String toCamelCase(String column) {
+            StringBuilder name = new StringBuilder(column.length());
+            boolean upper = false;
+            for (char c : column.toLowerCase(Locale.ROOT).toCharArray()) {
+                if (c == '_') {
+                    upper = true;
+                } else {
+                    name.append(upper ? Character.toUpperCase(c) : c);
+                    upper = false;
+                }
+            }
+            return name.toString();
+        }
+    }
+
+    private final class NdjsonRowWriter extends RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        protected void start() {
+        }
+
+        @Override
+        protected void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                generator.writeObject(valueOf(rs, i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter extends RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        protected void start() throws IOException {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(columns[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        protected void write(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = valueOf(rs, i + 1);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        protected void finish() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            return quote ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.marian.project.service;
+
+import com.marian.project.dto.GeoResultDTO;
+import com.marian.project.dto.PageResponse;
+import com.marian.project.geo.GeoGridIndex;
+import com.marian.project.model.Disaster;
+import com.marian.project.model.Task;
+import com.marian.project.model.Task.TaskStatus;
+import com.marian.project.model.TaskRequest;
+import com.marian.project.repository.DisasterRepository;
+import com.marian.project.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Proximity search over open tasks (PENDING, no volunteer, located by their task request) and
+// ACTIVE disasters. Only ids and coordinates live in the grid indexes; the services report every
+// change here and a periodic rebuild from the database repairs any drift. Matching rows are then
+// loaded by id, so results always carry current data.
+@Service
+public class GeoSearchService {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DisasterRepository disasterRepository;
+
+    private final double cellSizeDegrees;
+    private final double maxRadiusKm;
+
+    private volatile GeoGridIndex<Integer> openTasks;
+    private volatile GeoGridIndex<Long> activeDisasters;
+
+    public GeoSearchService(@Value("${rakshak.geo.cell-size-degrees:0.05}") double cellSizeDegrees,
+                            @Value("${rakshak.geo.max-radius-km:500}") double maxRadiusKm) {
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.maxRadiusKm = maxRadiusKm;
+        this.openTasks = new GeoGridIndex<>(cellSizeDegrees);
+        this.activeDisasters = new GeoGridIndex<>(cellSizeDegrees);
+    }
+
+    // Record a task create / status change / claim
+    public void taskChanged(Task task) {
+        TaskRequest request = task.getTaskRequest();
+        if (task.getStatus() == TaskStatus.PENDING && task.getVolunteer() == null && request != null
+                && GeoGridIndex.isValid(request.getLatitude(), request.getLongitude())) {
+            openTasks.put(task.getTaskId(), request.getLatitude(), request.getLongitude());
+        } else {
+            openTasks.remove(task.getTaskId());
+        }
+    }
+
+    public void taskRemoved(Integer taskId) {
+        openTasks.remove(taskId);
+    }
+
+    // Record a disaster create / update
+    public void disasterChanged(Disaster disaster) {
+        if (disaster.getStatus() == Disaster.Status.ACTIVE
+                && GeoGridIndex.isValid(disaster.getLatitude(), disaster.getLongitude())) {
+            activeDisasters.put(disaster.getDisasterId(), disaster.getLatitude(), disaster.getLongitude());
+        } else {
+            activeDisasters.remove(disaster.getDisasterId());
+        }
+    }
+
+    public void disasterRemoved(Long disasterId) {
+        activeDisasters.remove(disasterId);
+    }
+
+    // Open tasks within radiusKm, nearest first
+    public List<GeoResultDTO<Task>> findTasksNearby(double latitude, double longitude, double radiusKm, Integer limit) {
+        checkRadius(latitude, longitude, radiusKm);
+        return load(openTasks.withinRadius(latitude, longitude, radiusKm, PageResponse.clampLimit(limit)),
+                taskRepository::findAllById, Task::getTaskId, GeoSearchService::isOpen);
+    }
+
+    // Open tasks inside a bounding box
+    public List<GeoResultDTO<Task>> findTasksWithin(double minLatitude, double minLongitude, double maxLatitude,
+                                                    double maxLongitude, Integer limit) {
+        checkBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        return load(openTasks.withinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, PageResponse.clampLimit(limit)),
+                taskRepository::findAllById, Task::getTaskId, GeoSearchService::isOpen);
+    }
+
+    // Active disasters within radiusKm, nearest first
+    public List<GeoResultDTO<Disaster>> findDisastersNearby(double latitude, double longitude, double radiusKm, Integer limit) {
+        checkRadius(latitude, longitude, radiusKm);
+        return load(activeDisasters.withinRadius(latitude, longitude, radiusKm, PageResponse.clampLimit(limit)),
+                disasterRepository::findAllById, Disaster::getDisasterId, GeoSearchService::isActive);
+    }
+
+    // Active disasters inside a bounding box
+    public List<GeoResultDTO<Disaster>> findDisastersWithin(double minLatitude, double minLongitude, double maxLatitude,
+                                                            double maxLongitude, Integer limit) {
+        checkBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        return load(activeDisasters.withinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, PageResponse.clampLimit(limit)),
+                disasterRepository::findAllById, Disaster::getDisasterId, GeoSearchService::isActive);
+    }
+
+    public int getOpenTaskCount() {
+        return openTasks.size();
+    }
+
+    public int getActiveDisasterCount() {
+        return activeDisasters.size();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("openTasks", openTasks.size());
+        stats.put("activeDisasters", activeDisasters.size());
+        stats.put("cellSizeDegrees", cellSizeDegrees);
+        return stats;
+    }
+
+    // Rebuild both indexes from the database (at startup, then periodically)
+    @Scheduled(initialDelay = 0, fixedDelayString = "${rakshak.geo.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        GeoGridIndex<Integer> tasks = new GeoGridIndex<>(cellSizeDegrees);
+        for (Object[] row : taskRepository.findOpenTaskCoordinates(TaskStatus.PENDING)) {
+            putIfValid(tasks, (Integer) row[0], (Double) row[1], (Double) row[2]);
+        }
+        GeoGridIndex<Long> disasters = new GeoGridIndex<>(cellSizeDegrees);
+        for (Object[] row : disasterRepository.findCoordinatesByStatus(Disaster.Status.ACTIVE)) {
+            putIfValid(disasters, (Long) row[0], (Double) row[1], (Double) row[2]);
+        }
+        openTasks = tasks;
+        activeDisasters = disasters;
+    }
+
+    // Load the hits by id and keep the index order; rows changed since they were indexed are dropped
+    private <K, T> List<GeoResultDTO<T>> load(List<GeoGridIndex.Hit<K>> hits, Function<List<K>, List<T>> loader,
+                                              Function<T, K> idOf, Predicate<T> stillMatches) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<K> ids = hits.stream().map(GeoGridIndex.Hit::getKey).toList();
+        Map<K, T> byId = new LinkedHashMap<>();
+        for (T item : loader.apply(ids)) {
+            byId.put(idOf.apply(item), item);
+        }
+        List<GeoResultDTO<T>> results = new ArrayList<>(hits.size());
+        for (GeoGridIndex.Hit<K> hit : hits) {
+            T item = byId.get(hit.getKey());
+            if (item != null && stillMatches.test(item)) {
+                results.add(new GeoResultDTO<>(item, hit.getDistanceKm()));
+            }
+        }
+        return results;
+    }
+
+    private void checkRadius(double latitude, double longitude, double radiusKm) {
+        if (!GeoGridIndex.isValid(latitude, longitude)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid coordinates");
+        }
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "radiusKm must be between 0 and " + maxRadiusKm);
+        }
+    }
+
+    private void checkBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        if (!GeoGridIndex.isValid(minLatitude, minLongitude) || !GeoGridIndex.isValid(maxLatitude, maxLongitude)
+                || minLatitude > maxLatitude) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid bounding box");
+        }
+    }
+
+    private static <K> void putIfValid(GeoGridIndex<K> index, K key, Double latitude, Double longitude) {
+        if (GeoGridIndex.isValid(latitude, longitude)) {
+            index.put(key, latitude, longitude);
+        }
+    }
+
+    private static boolean isOpen(Task task) {
+        return task.getStatus() == TaskStatus.PENDING && task.getVolunteer() == null;
+    }
+
+    private static boolean isActive(Disaster disaster) {
+        return disaster.getStatus() == Disaster.Status.ACTIVE;
+    }
+}
@@ -0,0 +1,85 @@
+package com.marian.project.service;
+
+import com.marian.project.model.IdSequences;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.metamodel.EntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+
+// Keeps the id_sequences rows ahead of the ids already in each table. Rows created before the
+// switch from IDENTITY (or inserted by hand) would otherwise collide with the first blocks handed
+// out. Runs when the bean is created (after the schema update, before anything inserts) and only
+// ever moves a sequence forward, so it is safe on every start.
+@Component
+public class IdSequenceAligner {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceAligner(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            for (EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+                Field idField = findTableGeneratedId(entity.getJavaType());
+                if (idField != null) {
+                    align(entityManager, entity.getName(), idField);
+                }
+            }
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private void align(EntityManager entityManager, String entityName, Field idField) {
+        String sequence = idField.getAnnotation(TableGenerator.class).pkColumnValue();
+        Number maxId = (Number) entityManager
+                .createQuery("SELECT MAX(e." + idField.getName() + ") FROM " + entityName + " e")
+                .getSingleResult();
+        // The pooled optimizer hands out (next_val - ALLOCATION_SIZE, next_val], so stay a full block above
+        long floor = (maxId == null ? 0 : maxId.longValue()) + IdSequences.ALLOCATION_SIZE + 1;
+
+        int updated = jdbcTemplate.update(
+                "UPDATE " + IdSequences.TABLE + " SET " + IdSequences.VALUE_COLUMN + " = ? " +
+                "WHERE " + IdSequences.NAME_COLUMN + " = ? AND " + IdSequences.VALUE_COLUMN + " < ?",
+                floor, sequence, floor);
+        if (updated == 0) {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + IdSequences.TABLE + " WHERE " + IdSequences.NAME_COLUMN + " = ?",
+                    Integer.class, sequence);
+            if (existing == null || existing == 0) {
+                jdbcTemplate.update("INSERT INTO " + IdSequences.TABLE + " (" + IdSequences.NAME_COLUMN + ", " +
+                        IdSequences.VALUE_COLUMN + ") VALUES (?, ?)", sequence, floor);
+                updated = 1;
+            }
+        }
+        if (updated > 0) {
+            log.info("Id sequence {} moved to {} ({} max id {})", sequence, floor, entityName, maxId);
+        }
+    }
+
+    private static Field findTableGeneratedId(Class<?> type) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(TableGenerator.class)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,191 @@
+package com.marian.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Reads an import file one record at a time, so memory use does not grow with the file.
+// CSV: first line is the header, fields may be quoted ("a, b", "say ""hi""", line breaks inside quotes).
+// NDJSON: one JSON object per line. Either way a record is a map of lower-cased column name -> text.
+public class ImportRecordReader implements Closeable {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        // Explicit format wins, otherwise go by the file name
+        public static Format detect(String format, String fileName) {
+            if (format != null && !format.isBlank()) {
+                return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            }
+            String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            return name.endsWith(".ndjson") || name.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    public ImportRecordReader(Path file, Format format, ObjectMapper objectMapper) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    // Next record, or null at end of file; a malformed record throws BadRecordException and is skipped
+    public Record next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+        } while (line.isBlank());
+
+        long startLine = lineNumber;
+        if (format == Format.NDJSON) {
+            return new Record(startLine, parseJson(line, startLine));
+        }
+        if (header == null) {
+            header = new ArrayList<>();
+            for (String column : parseCsv(line, startLine)) {
+                header.add(column.trim().toLowerCase(Locale.ROOT));
+            }
+            return next();
+        }
+        List<String> fields = parseCsv(line, startLine);
+        if (fields.size() != header.size()) {
+            throw new BadRecordException(startLine, "Expected " + header.size() + " columns but found " + fields.size());
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(header.get(i), fields.get(i).isEmpty() ? null : fields.get(i));
+        }
+        return new Record(startLine, values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Map<String, String> parseJson(String line, long startLine) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new BadRecordException(startLine, "Invalid JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new BadRecordException(startLine, "Expected a JSON object");
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            values.put(field.getKey().toLowerCase(Locale.ROOT), value.isNull() ? null : value.asText());
+        }
+        return values;
+    }
+
+    // One CSV record, reading on into the next lines while a quoted field is open
+    private List<String> parseCsv(String line, long startLine) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i >= line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new BadRecordException(startLine, "Unterminated quoted field");
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    public static final class Record {
+        private final long line;
+        private final Map<String, String> values;
+
+        private Record(long line, Map<String, String> values) {
+            this.line = line;
+            this.values = values;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        // Value as it appears in the file (passwords must not be trimmed)
+        public String getRaw(String column) {
+            return values.get(column.toLowerCase(Locale.ROOT));
+        }
+
+        // Trimmed value of a column (names are case-insensitive), null when missing or blank
+        public String get(String column) {
+            String value = values.get(column.toLowerCase(Locale.ROOT));
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return value.trim();
+        }
+    }
+
+    public static final class BadRecordException extends RuntimeException {
+        private final long line;
+
+        public BadRecordException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        public long getLine() {
+            return line;
+        }
+    }
+}
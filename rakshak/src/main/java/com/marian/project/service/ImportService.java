@@ -0,0 +1,307 @@
+package com.marian.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marian.project.dto.ImportJobDTO;
+import com.marian.project.dto.ResourceDTO;
+import com.marian.project.model.User;
+import com.marian.project.repository.UserRepository;
+import com.marian.project.service.ImportRecordReader.Format;
+import com.marian.project.service.ImportRecordReader.Record;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Background import of resources and users from CSV or NDJSON files. The upload is spooled to a
+// temp file and the request returns a job id straight away; a worker then streams the file record
+// by record, validates and de-duplicates each chunk (one query for the chunk's emails), hashes
+// passwords in parallel on the BCrypt pool and writes the chunk in one batched transaction.
+// A bad row is reported with its line number and skipped; it never fails the rest of the file.
+@Service
+public class ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    private final ObjectMapper objectMapper;
+    private final ResourceRequestService resourceRequestService;
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final ThreadPoolExecutor executor;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int retainedJobs;
+
+    // jobId -> job, oldest first; trimmed to retainedJobs
+    private final Map<String, ImportJobDTO> jobs = new LinkedHashMap<>();
+
+    public ImportService(ObjectMapper objectMapper, ResourceRequestService resourceRequestService,
+                         UserService userService, UserRepository userRepository, PasswordHasher passwordHasher,
+                         @Value("${rakshak.import.threads:1}") int threads,
+                         @Value("${rakshak.import.queue-capacity:10}") int queueCapacity,
+                         @Value("${rakshak.import.chunk-size:500}") int chunkSize,
+                         @Value("${rakshak.import.max-errors:100}") int maxErrors,
+                         @Value("${rakshak.import.retained-jobs:100}") int retainedJobs) {
+        this.objectMapper = objectMapper;
+        this.resourceRequestService = resourceRequestService;
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.retainedJobs = retainedJobs;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "import-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Columns: name, type, availableQuantity
+    public ImportJobDTO importResources(MultipartFile file, String format) {
+        return start("resources", file, format, this::writeResources);
+    }
+
+    // Columns: name, email, password, phoneNumber, location, role, userStatus, latitude, longitude
+    public ImportJobDTO importUsers(MultipartFile file, String format, String defaultRole) {
+        // Emails seen earlier in this file; lives as long as the job
+        Set<String> seenEmails = new HashSet<>();
+        return start("users", file, format, (records, job) -> writeUsers(records, job, defaultRole, seenEmails));
+    }
+
+    public ImportJobDTO getJob(String jobId) {
+        synchronized (jobs) {
+            ImportJobDTO job = jobs.get(jobId);
+            if (job == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import job not found: " + jobId);
+            }
+            return job;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ImportJobDTO start(String kind, MultipartFile file, String format, ChunkWriter writer) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A non-empty file is required");
+        }
+        Format detected;
+        try {
+            detected = Format.detect(format, file.getOriginalFilename());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be csv or ndjson");
+        }
+
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("rakshak-import-", "." + detected.name().toLowerCase(Locale.ROOT));
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Could not store the upload", e);
+        }
+
+        ImportJobDTO job = new ImportJobDTO(UUID.randomUUID().toString(), kind, file.getOriginalFilename(),
+                detected.name(), maxErrors);
+        try {
+            executor.execute(() -> run(job, spooled, detected, writer));
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(spooled);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many imports queued, please retry later");
+        }
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+            while (jobs.size() > retainedJobs) {
+                jobs.remove(jobs.keySet().iterator().next());
+            }
+        }
+        return job;
+    }
+
+    private void run(ImportJobDTO job, Path file, Format format, ChunkWriter writer) {
+        job.started();
+        try (ImportRecordReader reader = new ImportRecordReader(file, format, objectMapper)) {
+            List<Record> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                Record record;
+                try {
+                    record = reader.next();
+                } catch (ImportRecordReader.BadRecordException e) {
+                    job.rowsRead(1);
+                    job.rowFailed(e.getLine(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(writer, chunk, job);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(writer, chunk, job);
+            }
+            job.completed();
+            log.info("Import {} ({}) finished: {} read, {} imported, {} skipped, {} failed", job.getJobId(), job.getKind(),
+                    job.getRowsRead(), job.getRowsImported(), job.getRowsSkipped(), job.getRowsFailed());
+        } catch (Exception e) {
+            log.warn("Import {} ({}) failed", job.getJobId(), job.getKind(), e);
+            job.failed(e.getMessage());
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private void writeChunk(ChunkWriter writer, List<Record> chunk, ImportJobDTO job) {
+        job.rowsRead(chunk.size());
+        try {
+            writer.write(chunk, job);
+        } catch (DataIntegrityViolationException e) {
+            // Usually an email registered between the duplicate check and the insert; the chunk was rolled back
+            for (Record record : chunk) {
+                job.rowFailed(record.getLine(), "Chunk rejected by the database: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void writeResources(List<Record> records, ImportJobDTO job) {
+        List<ResourceDTO> resources = new ArrayList<>(records.size());
+        for (Record record : records) {
+            String name = record.get("name");
+            if (name == null) {
+                job.rowFailed(record.getLine(), "name is required");
+                continue;
+            }
+            Integer quantity;
+            try {
+                quantity = record.get("availableQuantity") == null ? 0 : Integer.valueOf(record.get("availableQuantity"));
+            } catch (NumberFormatException e) {
+                job.rowFailed(record.getLine(), "availableQuantity must be a whole number");
+                continue;
+            }
+            if (quantity < 0) {
+                job.rowFailed(record.getLine(), "availableQuantity must not be negative");
+                continue;
+            }
+            resources.add(new ResourceDTO(null, name, record.get("type"), quantity));
+        }
+        if (!resources.isEmpty()) {
+            resourceRequestService.addResources(resources);
+            job.rowsImported(resources.size());
+        }
+    }
+
+    private void writeUsers(List<Record> records, ImportJobDTO job, String defaultRole, Set<String> seenEmails) {
+        List<User> users = new ArrayList<>(records.size());
+        List<Record> sources = new ArrayList<>(records.size());
+        for (Record record : records) {
+            String missing = firstMissing(record, "name", "email", "password", "phoneNumber", "location");
+            if (missing != null) {
+                job.rowFailed(record.getLine(), missing + " is required");
+                continue;
+            }
+            String email = record.get("email").toLowerCase(Locale.ROOT);
+            if (!email.contains("@")) {
+                job.rowFailed(record.getLine(), "email is not valid");
+                continue;
+            }
+            if (!seenEmails.add(email)) {
+                job.rowSkipped(record.getLine(), "Duplicate email in file: " + email);
+                continue;
+            }
+            User user = new User();
+            user.setName(record.get("name"));
+            user.setEmail(email);
+            user.setPassword(record.getRaw("password"));
+            user.setPhoneNumber(record.get("phoneNumber"));
+            user.setLocation(record.get("location"));
+            user.setRole(record.get("role") != null ? record.get("role") : defaultRole);
+            user.setUserStatus(record.get("userStatus") != null ? record.get("userStatus") : "active");
+            try {
+                user.setLatitude(record.get("latitude") == null ? null : Double.valueOf(record.get("latitude")));
+                user.setLongitude(record.get("longitude") == null ? null : Double.valueOf(record.get("longitude")));
+            } catch (NumberFormatException e) {
+                job.rowFailed(record.getLine(), "latitude / longitude must be numbers");
+                continue;
+            }
+            users.add(user);
+            sources.add(record);
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+
+        // One query for the whole chunk instead of a findByEmail per row
+        Set<String> registered = new HashSet<>(userRepository.findExistingEmails(
+                users.stream().map(User::getEmail).toList()));
+        List<User> fresh = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            if (registered.contains(users.get(i).getEmail())) {
+                job.rowSkipped(sources.get(i).getLine(), "Email already registered: " + users.get(i).getEmail());
+            } else {
+                fresh.add(users.get(i));
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        // Hash before opening the transaction so no connection is held while BCrypt runs
+        List<String> hashes = passwordHasher.encodeAll(fresh.stream().map(User::getPassword).toList());
+        for (int i = 0; i < fresh.size(); i++) {
+            fresh.get(i).setPassword(hashes.get(i));
+        }
+        userService.createUsers(fresh);
+        job.rowsImported(fresh.size());
+    }
+
+    private static String firstMissing(Record record, String... columns) {
+        for (String column : columns) {
+            if (record.get(column) == null) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled import file {}", file, e);
+        }
+    }
+
+    // Validates and writes one chunk of records, reporting per-row outcomes on the job
+    private interface ChunkWriter {
+        void write(List<Record> records, ImportJobDTO job);
+    }
+}
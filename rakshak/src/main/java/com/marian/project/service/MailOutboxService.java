@@ -0,0 +1,219 @@
+package com.marian.project.service;
+
+import com.marian.project.model.MailOutboxMessage;
+import com.marian.project.model.MailOutboxMessage.MailStatus;
+import com.marian.project.repository.MailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Transactional outbox for email. Callers only insert a row (enqueue) and return immediately;
+// the scheduled dispatcher sends due messages in batches over one SMTP connection per batch,
+// retries failures with exponential backoff and caps how many mails a single recipient gets per window.
+// Each batch is claimed with a conditional PENDING -> SENDING update first, so when several instances
+// poll the same table every message is sent by only one of them.
+@Service
+public class MailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxService.class);
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Value("${rakshak.mail.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rakshak.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${rakshak.mail.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${rakshak.mail.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${rakshak.mail.outbox.per-recipient-limit:5}")
+    private int perRecipientLimit;
+
+    @Value("${rakshak.mail.outbox.per-recipient-window-seconds:300}")
+    private long perRecipientWindowSeconds;
+
+    // How long a claimed batch may stay SENDING before another dispatcher may take it over
+    @Value("${rakshak.mail.outbox.claim-lease-seconds:300}")
+    private long claimLeaseSeconds;
+
+    // recipient -> sends in the current window; only touched by the dispatcher thread
+    private final Map<String, RecipientWindow> recipientWindows = new HashMap<>();
+
+    // Queue one email for background delivery
+    public MailOutboxMessage enqueue(String to, String subject, String text) {
+        return mailOutboxRepository.save(new MailOutboxMessage(to, subject, text));
+    }
+
+    // Queue the same email for many recipients (mass alerts) in one batch of inserts
+    public List<MailOutboxMessage> enqueueAll(Collection<String> recipients, String subject, String text) {
+        List<MailOutboxMessage> messages = new ArrayList<>(recipients.size());
+        for (String recipient : recipients) {
+            messages.add(new MailOutboxMessage(recipient, subject, text));
+        }
+        return mailOutboxRepository.saveAll(messages);
+    }
+
+    public long countPending() {
+        return mailOutboxRepository.countByStatus(MailStatus.PENDING);
+    }
+
+    // Drain every message that is due, one batch (and one SMTP connection) at a time
+    @Scheduled(initialDelayString = "${rakshak.mail.outbox.initial-delay-ms:0}",
+            fixedDelayString = "${rakshak.mail.outbox.poll-interval-ms:2000}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        recipientWindows.values().removeIf(window -> window.endsAt.isBefore(now));
+        int released = mailOutboxRepository.releaseExpiredClaims(now, MailStatus.PENDING, MailStatus.SENDING);
+        if (released > 0) {
+            log.warn("Mail outbox: {} messages were claimed but never finished; queued again", released);
+        }
+
+        List<Long> due;
+        do {
+            due = mailOutboxRepository.findDueIds(MailStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (!due.isEmpty()) {
+                String token = UUID.randomUUID().toString();
+                LocalDateTime leaseUntil = LocalDateTime.now().plusSeconds(claimLeaseSeconds);
+                if (mailOutboxRepository.claim(due, token, leaseUntil, MailStatus.PENDING, MailStatus.SENDING) > 0) {
+                    sendBatch(mailOutboxRepository.findByClaimTokenOrderByIdAsc(token));
+                }
+            }
+        } while (due.size() == batchSize);
+    }
+
+    private void sendBatch(List<MailOutboxMessage> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxMessage> sending = new ArrayList<>(batch.size());
+        List<MimeMessage> mails = new ArrayList<>(batch.size());
+
+        for (MailOutboxMessage message : batch) {
+            // Every row leaves this method PENDING again, SENT or FAILED
+            message.setClaimToken(null);
+            message.setStatus(MailStatus.PENDING);
+            RecipientWindow window = recipientWindows.computeIfAbsent(message.getRecipient(),
+                    r -> new RecipientWindow(now.plusSeconds(perRecipientWindowSeconds)));
+            if (window.sent >= perRecipientLimit) {
+                // Over the per-recipient limit: push to the end of the window without counting an attempt
+                message.setNextAttemptAt(window.endsAt);
+                continue;
+            }
+            window.sent++;
+            sending.add(message);
+            mails.add(toMail(message));
+        }
+
+        // Failures by position in the batch. The sender reports failed messages as map keys, so they are
+        // matched back by identity: two rows with the same recipient and text must not share a result.
+        Map<Integer, Exception> failures = new HashMap<>();
+        if (!mails.isEmpty()) {
+            try {
+                // JavaMailSender sends the whole array over a single transport connection
+                mailSender.send(mails.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                Map<Object, Integer> positions = new IdentityHashMap<>();
+                for (int i = 0; i < mails.size(); i++) {
+                    positions.put(mails.get(i), i);
+                }
+                e.getFailedMessages().forEach((mail, failure) -> {
+                    Integer position = positions.get(mail);
+                    if (position != null) {
+                        failures.put(position, failure);
+                    }
+                });
+                if (failures.isEmpty()) {
+                    failAll(failures, mails.size(), e);
+                }
+            } catch (MailException e) {
+                // Connection / authentication problems fail the whole batch
+                failAll(failures, mails.size(), e);
+            }
+        }
+
+        for (int i = 0; i < sending.size(); i++) {
+            MailOutboxMessage message = sending.get(i);
+            Exception failure = failures.get(i);
+            if (failure == null) {
+                message.setStatus(MailStatus.SENT);
+                message.setSentAt(now);
+                message.setLastError(null);
+            } else {
+                markFailedAttempt(message, failure, now);
+            }
+        }
+        mailOutboxRepository.saveAll(batch);
+
+        if (!failures.isEmpty()) {
+            log.warn("Mail outbox: {} of {} messages failed in this batch", failures.size(), mails.size());
+        }
+    }
+
+    private static void failAll(Map<Integer, Exception> failures, int count, Exception failure) {
+        for (int i = 0; i < count; i++) {
+            failures.put(i, failure);
+        }
+    }
+
+    private void markFailedAttempt(MailOutboxMessage message, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        String error = String.valueOf(failure.getMessage());
+        message.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            message.setStatus(MailStatus.FAILED);
+            log.error("Mail outbox: giving up on message {} to {} after {} attempts", message.getId(), message.getRecipient(), attempts);
+        } else {
+            // 30s, 60s, 120s, ... between retries
+            message.setNextAttemptAt(now.plusSeconds(backoffSeconds << (attempts - 1)));
+        }
+    }
+
+    private MimeMessage toMail(MailOutboxMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setTo(message.getRecipient());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        MimeMailMessage mime = new MimeMailMessage(mailSender.createMimeMessage());
+        mail.copyTo(mime);
+        return mime.getMimeMessage();
+    }
+
+    private static final class RecipientWindow {
+        private final LocalDateTime endsAt;
+        private int sent;
+
+        private RecipientWindow(LocalDateTime endsAt) {
+            this.endsAt = endsAt;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.marian.project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marian.project.model.Notification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Released (scheduledFor reached), active notifications held in memory, with a ready-made feed per role.
+// A feed is immutable and already serialized to JSON with an ETag, and is rebuilt only when a
+// notification visible to that role changes, so reads cost the same no matter how long the
+// notification history is and unchanged polls can be answered with 304. Changes and feed builds run
+// under one lock, so a feed can never be built from content that a concurrent change has already replaced.
+@Component
+public class NotificationFeedCache {
+
+    private static final Comparator<Notification> NEWEST_FIRST =
+            Comparator.comparing(Notification::getScheduledFor).reversed().thenComparing(Notification::getId, Comparator.reverseOrder());
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Notification> released = new ConcurrentHashMap<>();
+
+    // role -> immutable feed, dropped whenever a notification visible to that role changes
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+
+    // Guards changes to released and the building of feeds; plain feed reads do not take it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile boolean loaded;
+
+    public NotificationFeedCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    // Replace the whole content (startup)
+    public void load(List<Notification> notifications) {
+        lock.lock();
+        try {
+            released.clear();
+            notifications.forEach(notification -> released.put(notification.getId(), notification));
+            feeds.clear();
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void put(Notification notification) {
+        lock.lock();
+        try {
+            Notification previous = released.put(notification.getId(), notification);
+            if (previous != null) {
+                invalidate(previous.getTargetRole());
+            }
+            invalidate(notification.getTargetRole());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns the notification that was visible, or null if it was not released
+    public Notification remove(Long id) {
+        lock.lock();
+        try {
+            Notification removed = released.remove(id);
+            if (removed != null) {
+                invalidate(removed.getTargetRole());
+            }
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Same content and order as NotificationRepository.findActiveNotificationsForRole. The caller must
+    // have validated the role: every distinct value gets a cached feed.
+    public Feed getFeed(String role) {
+        Feed feed = feeds.get(role);
+        if (feed != null) {
+            return feed;
+        }
+        lock.lock();
+        try {
+            feed = feeds.get(role);
+            if (feed == null) {
+                feed = toFeed(released.values().stream()
+                        .filter(notification -> role.equals(notification.getTargetRole())
+                                || NotificationStreamService.ROLE_ALL.equals(notification.getTargetRole()))
+                        .sorted(NEWEST_FIRST)
+                        .toList());
+                feeds.put(role, feed);
+            }
+            return feed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Serialize a list once; the ETag is a digest of the JSON so it survives restarts
+    public Feed toFeed(List<Notification> notifications) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(notifications);
+            return new Feed(notifications, json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize notification feed", e);
+        }
+    }
+
+    public int size() {
+        return released.size();
+    }
+
+    // Caller holds the lock
+    private void invalidate(String targetRole) {
+        if (targetRole == null || NotificationStreamService.ROLE_ALL.equals(targetRole)) {
+            feeds.clear();
+        } else {
+            feeds.remove(targetRole);
+            feeds.remove(NotificationStreamService.ROLE_ALL);
+        }
+    }
+
+    public static final class Feed {
+        private final List<Notification> notifications;
+        private final byte[] json;
+        private final String etag;
+
+        private Feed(List<Notification> notifications, byte[] json, String etag) {
+            this.notifications = notifications;
+            this.json = json;
+            this.etag = etag;
+        }
+
+        public List<Notification> getNotifications() {
+            return notifications;
+        }
+
+        // Shared array; callers must not modify it
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
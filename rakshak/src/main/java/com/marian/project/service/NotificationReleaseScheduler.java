@@ -0,0 +1,191 @@
+package com.marian.project.service;
+
+import com.marian.project.model.Notification;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Releases scheduled notifications exactly once at their scheduledFor time. Pending releases sit in a
+// DelayQueue drained by one thread; on release the notification is added to the per-role feed cache
+// and pushed to the SSE streams. Re-scheduling or deleting a notification simply drops its pending
+// entry, and the worker only fires an entry it can still remove from the pending map. Releases, edits and
+// withdrawals run under one lock, so the worker can never re-release a version an edit just replaced.
+@Service
+public class NotificationReleaseScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationReleaseScheduler.class);
+
+    private final NotificationFeedCache feedCache;
+    private final NotificationStreamService streamService;
+
+    private final DelayQueue<PendingRelease> queue = new DelayQueue<>();
+    private final Map<Long, PendingRelease> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Thread worker;
+
+    // Lag = how late a release fired compared to its scheduledFor
+    private final LongAdder releasedCount = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    public NotificationReleaseScheduler(NotificationFeedCache feedCache, NotificationStreamService streamService) {
+        this.feedCache = feedCache;
+        this.streamService = streamService;
+        this.worker = new Thread(this::drain, "notification-release");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    // Release now if due, otherwise queue for its scheduledFor time (replacing any earlier schedule)
+    public void schedule(Notification notification) {
+        Long id = notification.getId();
+        lock.lock();
+        try {
+            if (!notification.isActive()) {
+                cancel(id);
+                return;
+            }
+            long releaseAt = toEpochMillis(notification.getScheduledFor());
+            if (releaseAt <= System.currentTimeMillis()) {
+                cancel(id);
+                release(notification, releaseAt);
+                return;
+            }
+            PendingRelease entry = new PendingRelease(notification, releaseAt);
+            pending.put(id, entry);
+            queue.put(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Apply an edit. The released copy is taken back from the streams that showed it when it moves to
+    // another role or into the future, then the new version is scheduled (or released if already due).
+    public void reschedule(Notification notification) {
+        Long id = notification.getId();
+        lock.lock();
+        try {
+            cancel(id);
+            Notification previous = feedCache.remove(id);
+            if (previous != null && (!Objects.equals(previous.getTargetRole(), notification.getTargetRole())
+                    || notification.getScheduledFor().isAfter(LocalDateTime.now()))) {
+                streamService.publish("notification-removed", previous.getTargetRole(), Map.of("id", id));
+            }
+            schedule(notification);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drop a notification for good: no pending release and no longer in the feeds
+    public Notification withdraw(Long id) {
+        lock.lock();
+        try {
+            cancel(id);
+            return feedCache.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Drop a pending release; the stale queue entry is skipped when it comes due
+    public void cancel(Long id) {
+        pending.remove(id);
+    }
+
+    public long getReleasedCount() {
+        return releasedCount.sum();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", pending.size());
+        stats.put("released", releasedCount.sum());
+        stats.put("lastLagMillis", lastLagMillis.get());
+        stats.put("maxLagMillis", maxLagMillis.get());
+        stats.put("feedSize", feedCache.size());
+        return stats;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.interrupt();
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                PendingRelease entry = queue.take();
+                lock.lock();
+                try {
+                    // Only the entry still registered for this id may fire, and only once
+                    if (pending.remove(entry.notification.getId(), entry)) {
+                        release(entry.notification, entry.releaseAt);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Notification release failed", e);
+            }
+        }
+    }
+
+    private void release(Notification notification, long releaseAt) {
+        feedCache.put(notification);
+        streamService.publish("notification", notification.getTargetRole(), notification);
+
+        long lag = Math.max(0, System.currentTimeMillis() - releaseAt);
+        releasedCount.increment();
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class PendingRelease implements Delayed {
+        private final Notification notification;
+        private final long releaseAt;
+
+        private PendingRelease(Notification notification, long releaseAt) {
+            this.notification = notification;
+            this.releaseAt = releaseAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(releaseAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(releaseAt, ((PendingRelease) other).releaseAt);
+        }
+    }
+}
@@ -2,27 +2,98 @@ package com.marian.project.service;
 
 import com.marian.project.model.Notification;
 import com.marian.project.repository.NotificationRepository;
+import com.marian.project.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class NotificationService {
 
+    private static final Set<String> ROLES = Set.of("User", "Volunteer", "Admin", NotificationStreamService.ROLE_ALL);
+
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Autowired
+    private NotificationReleaseScheduler releaseScheduler;
+
+    @Autowired
+    private NotificationFeedCache feedCache;
+
+    @Autowired
+    private StreamTokenService streamTokenService;
+
+    @Value("${rakshak.mail.emergency-alerts.enabled:false}")
+    private boolean emailEmergencyAlerts;
+
     // Create a new notification
     public Notification createNotification(Notification notification) {
         notification.setCreatedAt(LocalDateTime.now());
-        return notificationRepository.save(notification);
+        Notification saved = notificationRepository.save(notification);
+        if (emailEmergencyAlerts && "Emergency".equalsIgnoreCase(saved.getType())) {
+            // Mass alert: one outbox row per recipient, sent in the background at SMTP throughput
+            List<String> recipients = userRepository.findActiveEmailsByRole(saved.getTargetRole());
+            mailOutboxService.enqueueAll(recipients, "[Rakshak Emergency] " + saved.getTitle(), saved.getMessage());
+        }
+        releaseScheduler.schedule(saved);
+        return saved;
     }
 
-    // Fetch notifications for a specific role
+    // Open a push stream of notifications for a role. With the stream token from login it also carries
+    // the events for that user; the user id only ever comes from the token.
+    public SseEmitter subscribe(String role, String streamToken, Long lastEventId) {
+        requireKnownRole(role);
+        Integer userId = null;
+        if (streamToken != null) {
+            StreamTokenService.StreamCaller caller = streamTokenService.verify(streamToken);
+            if (!caller.role().equals(role)) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Stream token is for role " + caller.role());
+            }
+            userId = caller.userId();
+        }
+        return notificationStreamService.subscribe(role, userId, lastEventId, () -> getNotificationsForUser(role));
+    }
+
+    // Fetch notifications for a specific role, served from the released feed cache
     public List<Notification> getNotificationsForUser(String role) {
-        return notificationRepository.findActiveNotificationsForRole(role, LocalDateTime.now());
+        return getFeed(role).getNotifications();
+    }
+
+    // Pre-serialized feed for a role with its ETag; only built from the database before the cache is loaded
+    public NotificationFeedCache.Feed getFeed(String role) {
+        requireKnownRole(role);
+        if (!feedCache.isLoaded()) {
+            return feedCache.toFeed(notificationRepository.findActiveNotificationsForRole(role, LocalDateTime.now()));
+        }
+        return feedCache.getFeed(role);
+    }
+
+    // Feeds and streams are kept per role, so only the real roles are accepted
+    private void requireKnownRole(String role) {
+        if (!ROLES.contains(role)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "role must be one of " + ROLES);
+        }
     }
 
     // Update an existing notification
@@ -36,7 +107,10 @@ public class NotificationService {
         existingNotification.setTargetRole(updatedNotification.getTargetRole());
         existingNotification.setScheduledFor(updatedNotification.getScheduledFor());
 
-        return notificationRepository.save(existingNotification);
+        Notification saved = notificationRepository.save(existingNotification);
+        // Moved into the future or to another role: the old role's clients drop it until (unless) it is released to them again
+        releaseScheduler.reschedule(saved);
+        return saved;
     }
 
     // Delete a notification (soft delete)
@@ -45,5 +119,20 @@ public class NotificationService {
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
         notification.setActive(false);
         notificationRepository.save(notification);
+        releaseScheduler.withdraw(id);
+        notificationStreamService.publish("notification-removed", NotificationStreamService.ROLE_ALL, Map.of("id", id));
+    }
+
+    // Load released notifications into the feed cache and queue the future ones, once at startup
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadNotifications() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> released = new ArrayList<>();
+        List<Notification> upcoming = new ArrayList<>();
+        for (Notification notification : notificationRepository.findByActiveTrue()) {
+            (notification.getScheduledFor().isAfter(now) ? upcoming : released).add(notification);
+        }
+        feedCache.load(released);
+        upcoming.forEach(releaseScheduler::schedule);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,295 @@
+package com.marian.project.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Server-Sent Events fan-out for notifications. Each connected client holds one SseEmitter for its
+// role (and optionally its user id); publishing an event pushes it to every matching emitter, so
+// clients never poll. Recent events are kept in a small replay buffer so a reconnecting client that
+// sends Last-Event-ID only receives what it missed.
+// Publishing never writes to a socket: every client has its own bounded queue, drained by one writer
+// task at a time (so its events stay in order). A stalled client ties up at most that one writer thread;
+// when its queue overflows it is disconnected and can reconnect with Last-Event-ID.
+@Service
+public class NotificationStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    public static final String ROLE_ALL = "All";
+
+    // Queued like an event; written as an SSE comment frame
+    private static final StreamEvent HEARTBEAT = new StreamEvent(0, null, null, null, null);
+
+    private final long emitterTimeoutMillis;
+    private final int replayBufferSize;
+    private final int queueCapacity;
+    private final LongAdder dropped = new LongAdder();
+
+    // role -> connected clients
+    private final Map<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    // Last replayBufferSize events, oldest first; guarded by bufferLock
+    private final ArrayDeque<StreamEvent> replayBuffer = new ArrayDeque<>();
+    private final ReentrantLock bufferLock = new ReentrantLock();
+    // Seeded from the clock so ids from a previous process are always older than the buffer
+    private long lastSequence = System.currentTimeMillis() * 1000;
+
+    // Socket writes; blocking ones only hold up the client being written to
+    private final ExecutorService writers;
+
+    public NotificationStreamService(@Value("${rakshak.notifications.stream.timeout-ms:1800000}") long emitterTimeoutMillis,
+                                     @Value("${rakshak.notifications.stream.replay-buffer-size:500}") int replayBufferSize,
+                                     @Value("${rakshak.notifications.stream.client-queue-size:100}") int queueCapacity,
+                                     @Value("${rakshak.notifications.stream.writer-threads:4}") int writerThreads) {
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.replayBufferSize = replayBufferSize;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Open a stream for a role. With a Last-Event-ID the missed events are replayed from the buffer;
+    // on a fresh connect (or if the gap is older than the buffer) the current feed is sent as a snapshot.
+    public SseEmitter subscribe(String role, Integer userId, Long lastEventId, Supplier<Object> snapshot) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, role, userId, queueCapacity);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        long snapshotSequence;
+        bufferLock.lock();
+        try {
+            if (lastEventId != null && canReplayFrom(lastEventId)) {
+                List<StreamEvent> missed = new ArrayList<>();
+                for (StreamEvent event : replayBuffer) {
+                    if (event.sequence > lastEventId && subscriber.accepts(event)) {
+                        missed.add(event);
+                    }
+                }
+                // A gap larger than the client queue is sent as a snapshot instead
+                if (missed.size() < queueCapacity) {
+                    // Registered and queued under the lock, so the replay always precedes later live events
+                    register(subscriber, lastSequence);
+                    missed.forEach(event -> enqueue(subscriber, event));
+                    return emitter;
+                }
+            }
+            snapshotSequence = lastSequence;
+        } finally {
+            bufferLock.unlock();
+        }
+
+        // Build the snapshot outside the lock; anything published meanwhile is also delivered live
+        Object feed = snapshot.get();
+        bufferLock.lock();
+        try {
+            register(subscriber, snapshotSequence);
+            StreamEvent snapshotEvent = new StreamEvent(snapshotSequence, "snapshot", role, null, feed);
+            enqueue(subscriber, snapshotEvent);
+        } finally {
+            bufferLock.unlock();
+        }
+        return emitter;
+    }
+
+    // Push an event to every client of the target role ("All" or null = every client)
+    public void publish(String eventName, String targetRole, Object data) {
+        publish(new StreamEvent(0, eventName, targetRole, null, data));
+    }
+
+    // Push an event only to the streams opened for one user
+    public void publishToUser(int userId, String eventName, Object data) {
+        publish(new StreamEvent(0, eventName, null, userId, data));
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(List::size).sum();
+    }
+
+    // Clients disconnected because their queue overflowed
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Comment frames keep idle connections (and proxies) open and flush out dead clients; a client that
+    // has not drained its queue by the next heartbeat moves one step closer to being dropped
+    @Scheduled(fixedDelayString = "${rakshak.notifications.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (List<Subscriber> roleSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : roleSubscribers) {
+                enqueue(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+        subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void publish(StreamEvent unsequenced) {
+        bufferLock.lock();
+        try {
+            StreamEvent event = unsequenced.withSequence(++lastSequence);
+            replayBuffer.addLast(event);
+            while (replayBuffer.size() > replayBufferSize) {
+                replayBuffer.removeFirst();
+            }
+            // Only queue offers happen here, so holding the lock never waits on a client
+            for (List<Subscriber> roleSubscribers : subscribers.values()) {
+                for (Subscriber subscriber : roleSubscribers) {
+                    if (event.sequence > subscriber.fromSequence && subscriber.accepts(event)) {
+                        enqueue(subscriber, event);
+                    }
+                }
+            }
+        } finally {
+            bufferLock.unlock();
+        }
+    }
+
+    // Caller holds bufferLock; the subscriber gets live events newer than fromSequence
+    private void register(Subscriber subscriber, long fromSequence) {
+        subscriber.fromSequence = fromSequence;
+        subscribers.computeIfAbsent(subscriber.role, r -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    // Caller holds bufferLock
+    private boolean canReplayFrom(long lastEventId) {
+        if (lastEventId > lastSequence) {
+            return false;
+        }
+        return replayBuffer.isEmpty() ? lastEventId == lastSequence : replayBuffer.peekFirst().sequence <= lastEventId + 1;
+    }
+
+    // Never blocks: a full queue means the client fell behind, so it is disconnected instead
+    private void enqueue(Subscriber subscriber, StreamEvent event) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(event)) {
+            subscriber.closed = true;
+            subscriber.queue.clear();
+            remove(subscriber);
+            dropped.increment();
+            log.warn("Notification stream: dropping a {} client that fell {} events behind", subscriber.role, queueCapacity);
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(subscriber));
+        }
+    }
+
+    // At most one drain runs per subscriber (guarded by draining), which keeps its events in order
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            StreamEvent event;
+            while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+                send(subscriber, event);
+            }
+            if (subscriber.closed) {
+                // Completed from the writer, never from the publisher: complete() waits for a write in progress
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.draining.set(false);
+            // Re-check: an event queued after the last poll but before the flag cleared has nobody to drain it
+            if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber, StreamEvent event) {
+        try {
+            if (event == HEARTBEAT) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.sequence))
+                        .name(event.name)
+                        .data(event.data));
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.closed = true;
+            remove(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        List<Subscriber> roleSubscribers = subscribers.get(subscriber.role);
+        if (roleSubscribers != null) {
+            roleSubscribers.remove(subscriber);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final String role;
+        private final Integer userId;
+        private final ArrayBlockingQueue<StreamEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long fromSequence;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, String role, Integer userId, int queueCapacity) {
+            this.emitter = emitter;
+            this.role = role;
+            this.userId = userId;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private boolean accepts(StreamEvent event) {
+            if (event.targetUserId != null) {
+                return event.targetUserId.equals(userId);
+            }
+            return event.targetRole == null || ROLE_ALL.equals(event.targetRole) || event.targetRole.equals(role);
+        }
+    }
+
+    private static final class StreamEvent {
+        private final long sequence;
+        private final String name;
+        private final String targetRole;
+        private final Integer targetUserId;
+        private final Object data;
+
+        private StreamEvent(long sequence, String name, String targetRole, Integer targetUserId, Object data) {
+            this.sequence = sequence;
+            this.name = name;
+            this.targetRole = targetRole;
+            this.targetUserId = targetUserId;
+            this.data = data;
+        }
+
+        private StreamEvent withSequence(long sequence) {
+            return new StreamEvent(sequence, name, targetRole, targetUserId, data);
+        }
+    }
+}
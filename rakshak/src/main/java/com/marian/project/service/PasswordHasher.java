@@ -0,0 +1,219 @@
+package com.marian.project.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Runs every BCrypt hash / verify on a small dedicated pool so a login storm can only burn
+// that many cores; request threads stay free for everything else. When the pool and its queue
+// are full the call fails fast with 503 instead of piling up behind the CPU. Bulk imports run in the
+// background instead, so they back off and resubmit until the pool has room.
+@Service
+public class PasswordHasher {
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final long backgroundMaxWaitMillis;
+
+    private static final long INITIAL_BACKOFF_MILLIS = 50;
+    private static final long MAX_BACKOFF_MILLIS = 2000;
+
+    // Stats
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public PasswordHasher(@Value("${rakshak.security.bcrypt.strength:10}") int strength,
+                          @Value("${rakshak.security.bcrypt.threads:0}") int threads,
+                          @Value("${rakshak.security.bcrypt.queue-capacity:64}") int queueCapacity,
+                          @Value("${rakshak.security.bcrypt.timeout-ms:5000}") long timeoutMillis,
+                          @Value("${rakshak.security.bcrypt.background-max-wait-ms:600000}") long backgroundMaxWaitMillis) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.timeoutMillis = timeoutMillis;
+        this.backgroundMaxWaitMillis = backgroundMaxWaitMillis;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Hash a raw password
+    public String encode(String rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    // Hash many passwords (bulk imports) in parallel. At most poolSize of them are queued at a time,
+    // so an import cannot fill the queue and push interactive logins into 503s. A hash that is rejected
+    // or times out because logins saturate the pool is backed off and resubmitted, not failed; only
+    // after backgroundMaxWaitMillis does it give up with the usual 503.
+    public List<String> encodeAll(List<String> rawPasswords) {
+        int window = Math.max(1, executor.getCorePoolSize());
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        for (int from = 0; from < rawPasswords.size(); from += window) {
+            List<Callable<String>> work = new ArrayList<>(window);
+            List<Future<String>> futures = new ArrayList<>(window);
+            for (String rawPassword : rawPasswords.subList(from, Math.min(rawPasswords.size(), from + window))) {
+                Callable<String> hash = () -> encoder.encode(rawPassword);
+                work.add(hash);
+                futures.add(submitPatiently(hash));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                hashes.add(awaitPatiently(futures.get(i), work.get(i)));
+            }
+        }
+        return hashes;
+    }
+
+    // Check a raw password against a stored hash
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    // Pool / latency figures for monitoring
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public Map<String, Object> getStats() {
+        long count = completed.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", executor.getPoolSize());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        stats.put("completed", count);
+        stats.put("rejected", rejected.sum());
+        stats.put("avgHashMillis", count == 0 ? 0.0 : totalNanos.sum() / (double) count / 1_000_000);
+        stats.put("maxHashMillis", maxNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> work) {
+        return await(submit(work));
+    }
+
+    private <T> Future<T> submit(Callable<T> work) {
+        try {
+            return executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    completed.increment();
+                    totalNanos.add(elapsed);
+                    maxNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry shortly");
+        }
+    }
+
+    // Background submit: on rejection, back off and try again until backgroundMaxWaitMillis has passed
+    private <T> Future<T> submitPatiently(Callable<T> work) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backgroundMaxWaitMillis);
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                return submit(work);
+            } catch (ResponseStatusException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                backoffMillis = backOff(backoffMillis);
+            }
+        }
+    }
+
+    // Background await: a timed-out hash was cancelled by await, so back off and resubmit it
+    private <T> T awaitPatiently(Future<T> future, Callable<T> work) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backgroundMaxWaitMillis);
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                return await(future);
+            } catch (ResponseStatusException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                backoffMillis = backOff(backoffMillis);
+                future = submitPatiently(work);
+            }
+        }
+    }
+
+    // Sleep for the given backoff and return the next one (doubled, capped)
+    private static long backOff(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the hashing pool", e);
+        }
+        return Math.min(millis * 2, MAX_BACKOFF_MILLIS);
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -4,8 +4,6 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 
@@ -25,7 +23,7 @@ public class PasswordResetService {
     private PasswordResetTokenRepository tokenRepository;
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailOutboxService mailOutboxService;
 
     public void sendPasswordResetEmail(String email) {
         User user = userRepository.findByEmail(email)
@@ -39,11 +37,8 @@ public class PasswordResetService {
         sendEmail(email, resetUrl);
     }
 
+    // Queued in the outbox; delivered by the background dispatcher so the request never waits on SMTP
     private void sendEmail(String to, String resetUrl) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Password Reset Request");
-        message.setText("Click the link to reset your password: " + resetUrl);
-        mailSender.send(message);
+        mailOutboxService.enqueue(to, "Password Reset Request", "Click the link to reset your password: " + resetUrl);
     }
 }
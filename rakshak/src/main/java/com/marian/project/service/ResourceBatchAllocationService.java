@@ -0,0 +1,264 @@
+package com.marian.project.service;
+
+import com.marian.project.dto.ResourceRequestBatchDTO;
+import com.marian.project.dto.ResourceRequestBatchResultDTO;
+import com.marian.project.dto.ResourceRequestBatchResultDTO.Outcome;
+import com.marian.project.model.Disaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Allocates or rejects many resource requests in one transaction. The selected requests and the
+// resources they draw on are locked (always in id order, like the single accept path, so the two
+// cannot deadlock), the split of each resource's stock is worked out in memory with the chosen
+// AllocationPolicy, and all writes go out as a handful of JDBC batches instead of one round trip each.
+@Service
+public class ResourceBatchAllocationService {
+
+    private static final String PENDING = "PENDING";
+    private static final String ALLOCATED = "ALLOCATED";
+    private static final String REJECTED = "REJECTED";
+
+    private static final Comparator<RequestRow> OLDEST_FIRST =
+            Comparator.comparing((RequestRow row) -> row.requestDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparingLong(row -> row.requestId);
+
+    private static final Comparator<RequestRow> MOST_SEVERE_FIRST =
+            Comparator.comparingInt((RequestRow row) -> row.severity == null ? -1 : row.severity.ordinal())
+                    .reversed()
+                    .thenComparing(OLDEST_FIRST);
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Value("${rakshak.allocation.default-policy:FIFO}")
+    private AllocationPolicy defaultPolicy;
+
+    @Value("${rakshak.allocation.max-batch-size:500}")
+    private int maxBatchSize;
+
+    // Results come back in the order the ids were given (duplicates collapsed)
+    @Transactional
+    public List<ResourceRequestBatchResultDTO> process(ResourceRequestBatchDTO batch) {
+        if (batch.getAction() == null || batch.getRequestIds() == null || batch.getRequestIds().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "action and requestIds are required");
+        }
+        Set<Long> requestIds = new LinkedHashSet<>(batch.getRequestIds());
+        requestIds.remove(null);
+        if (requestIds.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxBatchSize + " requests per batch");
+        }
+
+        Map<Long, RequestRow> rows = lockRequests(requestIds);
+        Map<Long, ResourceRequestBatchResultDTO> results = new HashMap<>();
+        List<RequestRow> pending = new ArrayList<>();
+        for (Long requestId : requestIds) {
+            RequestRow row = rows.get(requestId);
+            if (row == null) {
+                results.put(requestId, new ResourceRequestBatchResultDTO(requestId, Outcome.NOT_FOUND, null, null, null));
+            } else if (!PENDING.equals(row.status)) {
+                results.put(requestId, new ResourceRequestBatchResultDTO(requestId, Outcome.ALREADY_PROCESSED,
+                        row.requestedQuantity, null, row.status));
+            } else {
+                pending.add(row);
+            }
+        }
+
+        if (batch.getAction() == ResourceRequestBatchDTO.Action.REJECT) {
+            reject(pending, results);
+        } else {
+            allocate(pending, batch.getPolicy() != null ? batch.getPolicy() : defaultPolicy, results);
+        }
+        return requestIds.stream().map(results::get).toList();
+    }
+
+    private void reject(List<RequestRow> pending, Map<Long, ResourceRequestBatchResultDTO> results) {
+        List<Object[]> updates = new ArrayList<>(pending.size());
+        for (RequestRow row : pending) {
+            updates.add(new Object[]{row.requestId});
+            results.put(row.requestId, new ResourceRequestBatchResultDTO(row.requestId, Outcome.REJECTED,
+                    row.requestedQuantity, null, REJECTED));
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(
+                    "UPDATE resource_request SET status = 'REJECTED' WHERE request_id = ?", updates);
+        }
+        dashboardService.move(DashboardService.RESOURCE_REQUESTS_BY_STATUS, PENDING, REJECTED, updates.size());
+    }
+
+    private void allocate(List<RequestRow> pending, AllocationPolicy policy, Map<Long, ResourceRequestBatchResultDTO> results) {
+        // resource id -> its pending requests; TreeMap keeps the lock order stable
+        Map<Long, List<RequestRow>> byResource = new TreeMap<>();
+        for (RequestRow row : pending) {
+            byResource.computeIfAbsent(row.resourceId, id -> new ArrayList<>()).add(row);
+        }
+        Map<Long, Integer> stock = byResource.isEmpty() ? Map.of() : lockResources(byResource.keySet());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> requestUpdates = new ArrayList<>();
+        List<Object[]> resourceUpdates = new ArrayList<>();
+        List<Object[]> ledgerInserts = new ArrayList<>();
+
+        for (Map.Entry<Long, List<RequestRow>> entry : byResource.entrySet()) {
+            Long resourceId = entry.getKey();
+            Map<RequestRow, Integer> grants = plan(entry.getValue(), stock.getOrDefault(resourceId, 0), policy);
+            int taken = 0;
+            for (RequestRow row : entry.getValue()) {
+                int granted = grants.getOrDefault(row, 0);
+                if (granted == 0 && row.requestedQuantity > 0) {
+                    results.put(row.requestId, new ResourceRequestBatchResultDTO(row.requestId, Outcome.INSUFFICIENT_STOCK,
+                            row.requestedQuantity, 0, PENDING));
+                    continue;
+                }
+                taken += granted;
+                requestUpdates.add(new Object[]{granted, row.requestId});
+                ledgerInserts.add(new Object[]{resourceId, row.requestId, -granted, now});
+                Outcome outcome = granted < row.requestedQuantity ? Outcome.PARTIALLY_ALLOCATED : Outcome.ALLOCATED;
+                results.put(row.requestId, new ResourceRequestBatchResultDTO(row.requestId, outcome,
+                        row.requestedQuantity, granted, ALLOCATED));
+            }
+            if (taken > 0) {
+                resourceUpdates.add(new Object[]{taken, resourceId});
+            }
+        }
+
+        if (!requestUpdates.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(
+                    "UPDATE resource_request SET status = 'ALLOCATED', allocated_quantity = ? WHERE request_id = ?",
+                    requestUpdates);
+            jdbcTemplate.getJdbcTemplate().batchUpdate(
+                    "INSERT INTO resource_stock_ledger (resource_id, request_id, delta, reason, created_at) " +
+                    "VALUES (?, ?, ?, 'ALLOCATION', ?)", ledgerInserts);
+        }
+        if (!resourceUpdates.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(
+                    "UPDATE resource SET available_quantity = available_quantity - ? WHERE resource_id = ?",
+                    resourceUpdates);
+        }
+        dashboardService.move(DashboardService.RESOURCE_REQUESTS_BY_STATUS, PENDING, ALLOCATED, requestUpdates.size());
+    }
+
+    // How much of one resource each request gets
+    private Map<RequestRow, Integer> plan(List<RequestRow> requests, int available, AllocationPolicy policy) {
+        Map<RequestRow, Integer> grants = new HashMap<>();
+        long demand = requests.stream().mapToLong(row -> row.requestedQuantity).sum();
+        if (demand <= available) {
+            requests.forEach(row -> grants.put(row, row.requestedQuantity));
+            return grants;
+        }
+
+        List<RequestRow> ordered = new ArrayList<>(requests);
+        if (policy == AllocationPolicy.PROPORTIONAL) {
+            ordered.sort(OLDEST_FIRST);
+            int handedOut = 0;
+            for (RequestRow row : ordered) {
+                int share = (int) (row.requestedQuantity * (long) available / demand);
+                grants.put(row, share);
+                handedOut += share;
+            }
+            // Rounding leaves fewer units than requests; give them out one each, oldest first
+            for (RequestRow row : ordered) {
+                if (handedOut == available) {
+                    break;
+                }
+                if (grants.get(row) < row.requestedQuantity) {
+                    grants.merge(row, 1, Integer::sum);
+                    handedOut++;
+                }
+            }
+            return grants;
+        }
+
+        // FIFO / SEVERITY: whole requests in priority order; smaller later requests still get a chance
+        ordered.sort(policy == AllocationPolicy.SEVERITY ? MOST_SEVERE_FIRST : OLDEST_FIRST);
+        int remaining = available;
+        for (RequestRow row : ordered) {
+            if (row.requestedQuantity <= remaining) {
+                grants.put(row, row.requestedQuantity);
+                remaining -= row.requestedQuantity;
+            }
+        }
+        return grants;
+    }
+
+    private Map<Long, RequestRow> lockRequests(Set<Long> requestIds) {
+        Map<Long, RequestRow> rows = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT request_id, resource_id, requested_quantity, status, severity, request_date " +
+                "FROM resource_request WHERE request_id IN (:ids) ORDER BY request_id FOR UPDATE",
+                Map.of("ids", requestIds),
+                rs -> {
+                    String severity = rs.getString("severity");
+                    Timestamp requestDate = rs.getTimestamp("request_date");
+                    RequestRow row = new RequestRow(
+                            rs.getLong("request_id"),
+                            rs.getLong("resource_id"),
+                            rs.getInt("requested_quantity"),
+                            rs.getString("status"),
+                            severity == null ? null : Disaster.Severity.valueOf(severity),
+                            requestDate == null ? null : requestDate.toLocalDateTime());
+                    rows.put(row.requestId, row);
+                });
+        return rows;
+    }
+
+    private Map<Long, Integer> lockResources(Set<Long> resourceIds) {
+        Map<Long, Integer> stock = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT resource_id, available_quantity FROM resource " +
+                "WHERE resource_id IN (:ids) ORDER BY resource_id FOR UPDATE",
+                Map.of("ids", resourceIds),
+                rs -> {
+                    stock.put(rs.getLong("resource_id"), rs.getInt("available_quantity"));
+                });
+        return stock;
+    }
+
+    private static final class RequestRow {
+        private final long requestId;
+        private final long resourceId;
+        private final int requestedQuantity;
+        private final String status;
+        private final Disaster.Severity severity;
+        private final LocalDateTime requestDate;
+
+        private RequestRow(long requestId, long resourceId, int requestedQuantity, String status,
+                           Disaster.Severity severity, LocalDateTime requestDate) {
+            this.requestId = requestId;
+            this.resourceId = resourceId;
+            this.requestedQuantity = requestedQuantity;
+            this.status = status;
+            this.severity = severity;
+            this.requestDate = requestDate;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof RequestRow row && row.requestId == requestId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(requestId);
+        }
+    }
+}
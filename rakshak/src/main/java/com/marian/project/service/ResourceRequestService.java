@@ -1,16 +1,29 @@
 package com.marian.project.service;
 
+import com.marian.project.model.Disaster;
 import com.marian.project.model.ResourceRequest;
 import com.marian.project.model.User;
+import com.marian.project.dto.BulkCreateResultDTO;
+import com.marian.project.dto.PageResponse;
 import com.marian.project.dto.ResourceDTO;
 import com.marian.project.model.Resource;
+import com.marian.project.model.ResourceStockLedger;
 import com.marian.project.repository.ResourceRequestRepository;
+import com.marian.project.repository.ResourceStockLedgerRepository;
 import com.marian.project.repository.UserRepository;
 import com.marian.project.repository.ResourceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -28,11 +41,24 @@ public class ResourceRequestService {
     @Autowired
     private ResourceRepository resourceRepository;
 
+    @Autowired
+    private ResourceStockLedgerRepository ledgerRepository;
+
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private BulkInsertService bulkInsertService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     // Method to create a resource request
-    public String createResourceRequest(Long userId, Long resourceId, String location, int requestedQuantity) {
+    public String createResourceRequest(Long userId, Long resourceId, String location, Double latitude, Double longitude,
+                                        int requestedQuantity, Disaster.Severity severity) {
 
         // Fetch the user and resource based on IDs
         User user = userRepository.findByUserId(userId).orElse(null);
@@ -47,19 +73,26 @@ public class ResourceRequestService {
         resourceRequest.setUser(user);
         resourceRequest.setResource(resource);
         resourceRequest.setLocation(location);  // Set location from the frontend
+        resourceRequest.setLatitude(latitude);
+        resourceRequest.setLongitude(longitude);
         resourceRequest.setStatus("PENDING");
         resourceRequest.setRequestDate(LocalDateTime.now());
         resourceRequest.setRequestedQuantity(requestedQuantity);  // Set the requested quantity
+        resourceRequest.setSeverity(severity);
 
         // Save the request to the database
         resourceRequestRepository.save(resourceRequest);
+        dashboardService.move(DashboardService.RESOURCE_REQUESTS_BY_STATUS, null, resourceRequest.getStatus());
 
       
 
         return "Resource Request created successfully!";
     }
 
-    // Method to accept and allocate the resource request in one go
+    // Method to accept and allocate the resource request in one go.
+    // The request is claimed (PENDING -> ALLOCATED) and the stock taken with two conditional updates in one
+    // transaction, so concurrent admins can neither allocate the same request twice nor over-draw the stock.
+    @Transactional
     public String acceptAndAllocateResource(Long requestId) {
 
         // Fetch the resource request based on ID
@@ -69,24 +102,23 @@ public class ResourceRequestService {
             return "Request not found!";
         }
 
-        // Check if the resource is available in the required quantity
-        Resource resource = resourceRequest.getResource();
-        int requestedQuantity = resourceRequest.getRequestedQuantity();  // Corrected this line
-        if (resource.getAvailableQuantity() < requestedQuantity) {
-            return "Insufficient resource quantity available for allocation!";
-        }
+        Long resourceId = resourceRequest.getResource().getResourceId();
+        int requestedQuantity = resourceRequest.getRequestedQuantity();
 
-        // Accept the request (change status to ACCEPTED)
-        resourceRequest.setStatus("ACCEPTED");
-        resourceRequestRepository.save(resourceRequest);
+        // Claim the request; a second admin accepting the same request at the same time gets 0 rows
+        if (resourceRequestRepository.claimForAllocation(requestId, requestedQuantity) == 0) {
+            return "Resource request has already been processed!";
+        }
 
-        // Allocate the resource by updating its available quantity
-        resource.setAvailableQuantity(resource.getAvailableQuantity() - requestedQuantity);  // Corrected this line
-        resourceRepository.save(resource);
+        // Take the stock only if enough is left
+        if (resourceRepository.tryAllocate(resourceId, requestedQuantity) == 0) {
+            // Undo the claim; the request stays PENDING
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return "Insufficient resource quantity available for allocation!";
+        }
 
-        // Update the resource request status to ALLOCATED
-        resourceRequest.setStatus("ALLOCATED");
-        resourceRequestRepository.save(resourceRequest);
+        ledgerRepository.save(new ResourceStockLedger(resourceId, requestId, -requestedQuantity, ResourceStockLedger.Reason.ALLOCATION));
+        dashboardService.move(DashboardService.RESOURCE_REQUESTS_BY_STATUS, "PENDING", "ALLOCATED");
 
         // Notify the user that their resource request has been accepted and allocated
        
@@ -103,6 +135,7 @@ public class ResourceRequestService {
         }
 
         // Update the status to "REJECTED"
+        dashboardService.move(DashboardService.RESOURCE_REQUESTS_BY_STATUS, resourceRequest.getStatus(), "REJECTED");
         resourceRequest.setStatus("REJECTED");
         resourceRequestRepository.save(resourceRequest);
 
@@ -128,24 +161,46 @@ public class ResourceRequestService {
         return resourceRequestRepository.findAll(); // Fetch all resource requests for admin
     }
 
+    // Method to get one keyset page of resource requests (for admin view)
+    public PageResponse<ResourceRequest> getResourceRequestPage(Long cursor, String status, LocalDateTime from,
+                                                                LocalDateTime to, Integer limit) {
+        int pageSize = PageResponse.clampLimit(limit);
+        List<ResourceRequest> rows = resourceRequestRepository.findPage(cursor, status, from, to,
+                PageRequest.of(0, pageSize + 1));
+        return PageResponse.of(rows, pageSize, ResourceRequest::getRequestId);
+    }
+
     // Method to replenish the resource quantity (admin functionality)
+    @Transactional
     public String replenishResourceQuantity(Long resourceId, int quantityToAdd) {
 
-        // Fetch the resource based on the ID
-        Resource resource = resourceRepository.findById(resourceId).orElse(null);
+        if (quantityToAdd <= 0) {
+            return "Quantity to add must be positive!";
+        }
 
-        if (resource == null) {
+        // Increment in place so a concurrent allocation is never overwritten
+        if (resourceRepository.addQuantity(resourceId, quantityToAdd) == 0) {
             return "Resource not found!";
         }
 
-        // Replenish the resource quantity
-        resource.setAvailableQuantity(resource.getAvailableQuantity() + quantityToAdd);  // Corrected this line
-
-        // Save the updated resource
-        resourceRepository.save(resource);
+        ledgerRepository.save(new ResourceStockLedger(resourceId, null, quantityToAdd, ResourceStockLedger.Reason.REPLENISH));
 
         return "Resource quantity replenished successfully!";
     }
+
+    // Method to get one keyset page of a resource's stock movements, newest first
+    public PageResponse<ResourceStockLedger> getResourceLedgerPage(Long resourceId, Long cursor, Integer limit) {
+        int pageSize = PageResponse.clampLimit(limit);
+        List<ResourceStockLedger> rows = ledgerRepository.findPage(resourceId, cursor, PageRequest.of(0, pageSize + 1));
+        return PageResponse.of(rows, pageSize, ResourceStockLedger::getId);
+    }
+
+    // Give resources created before the ledger existed an opening balance, once at startup
+    @EventListener(ApplicationStartedEvent.class)
+    @Transactional
+    public void backfillOpeningBalances() {
+        ledgerRepository.insertMissingOpeningBalances();
+    }
     
     public List<ResourceDTO> getAllResources() {
         return resourceRepository.findAll().stream()
@@ -154,15 +209,43 @@ public class ResourceRequestService {
     }
 
     // Method to add a new resource
+    @Transactional
     public String addResource(ResourceDTO resourceDTO) {
         Resource resource = new Resource();
         resource.setName(resourceDTO.getName());
         resource.setType(resourceDTO.getType());
         resource.setAvailableQuantity(resourceDTO.getAvailableQuantity());
         resourceRepository.save(resource);  // Save the new resource to the database
+        int openingQuantity = resource.getAvailableQuantity() == null ? 0 : resource.getAvailableQuantity();
+        ledgerRepository.save(new ResourceStockLedger(resource.getResourceId(), null, openingQuantity, ResourceStockLedger.Reason.INITIAL));
         return "Resource added successfully!";  // Return success message
     }
 
+    // Add many resources in one transaction; resources and their opening ledger rows go out as JDBC batches
+    @Transactional
+    public BulkCreateResultDTO<Long> addResources(List<ResourceDTO> resourceDTOs) {
+        bulkInsertService.checkSize(resourceDTOs);
+        List<Resource> resources = new ArrayList<>(resourceDTOs.size());
+        for (ResourceDTO resourceDTO : resourceDTOs) {
+            Resource resource = new Resource();
+            resource.setName(resourceDTO.getName());
+            resource.setType(resourceDTO.getType());
+            resource.setAvailableQuantity(resourceDTO.getAvailableQuantity());
+            resources.add(resource);
+        }
+        List<Long> ids = bulkInsertService.insertAll(resourceRepository, resources, Resource::getResourceId);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> ledgerInserts = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            int openingQuantity = resource.getAvailableQuantity() == null ? 0 : resource.getAvailableQuantity();
+            ledgerInserts.add(new Object[]{resource.getResourceId(), openingQuantity, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO resource_stock_ledger (resource_id, delta, reason, created_at) " +
+                "VALUES (?, ?, 'INITIAL', ?)", ledgerInserts);
+        return new BulkCreateResultDTO<>(ids);
+    }
+
     // Method to delete a resource
     public String deleteResource(Long resourceId) {
         Optional<Resource> resource = resourceRepository.findById(resourceId);
@@ -0,0 +1,86 @@
+package com.marian.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// Signed, expiring tokens that tie a notification stream to the user who logged in. Login hands one out;
+// the stream endpoint takes the user id (and role) from the token instead of trusting a request parameter,
+// so nobody can open another user's task-offer stream. EventSource cannot send headers, so the token
+// travels as a query parameter: userId.role.expiresAt.signature, HMAC-SHA256 over the first three parts.
+@Service
+public class StreamTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+
+    public StreamTokenService(@Value("${rakshak.notifications.stream.token-secret:}") String secret,
+                              @Value("${rakshak.notifications.stream.token-ttl-ms:43200000}") long ttlMillis) {
+        byte[] keyBytes;
+        if (secret.isBlank()) {
+            // No configured secret: tokens only survive until the next restart, then clients log in again
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlMillis = ttlMillis;
+    }
+
+    public String issue(int userId, String role) {
+        String payload = userId + "." + role + "." + (System.currentTimeMillis() + ttlMillis);
+        return payload + "." + sign(payload);
+    }
+
+    // The caller behind a token; 401 when it is malformed, forged or expired
+    public StreamCaller verify(String token) {
+        int lastDot = token.lastIndexOf('.');
+        String[] parts = lastDot < 0 ? new String[0] : token.substring(0, lastDot).split("\\.");
+        if (parts.length != 3) {
+            throw unauthorized();
+        }
+        String payload = token.substring(0, lastDot);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(lastDot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw unauthorized();
+        }
+        try {
+            if (Long.parseLong(parts[2]) < System.currentTimeMillis()) {
+                throw unauthorized();
+            }
+            return new StreamCaller(Integer.parseInt(parts[0]), parts[1]);
+        } catch (NumberFormatException e) {
+            throw unauthorized();
+        }
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+
+    private static ResponseStatusException unauthorized() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired stream token");
+    }
+
+    public record StreamCaller(int userId, String role) {
+    }
+}
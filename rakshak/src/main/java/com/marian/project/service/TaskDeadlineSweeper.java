@@ -0,0 +1,271 @@
+package com.marian.project.service;
+
+import com.marian.project.model.Notification;
+import com.marian.project.model.Task;
+import com.marian.project.model.Task.TaskStatus;
+import com.marian.project.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Enforces task deadlines in the background. Each sweep walks the (status, deadline) index for
+// overdue PENDING and IN_PROGRESS tasks a chunk at a time: the chunk is locked, changed with one
+// UPDATE per outcome and committed on its own, so a large backlog never holds locks for long and
+// never costs a round trip per task. Overdue PENDING tasks are cancelled; overdue IN_PROGRESS tasks
+// are taken back from their volunteer and re-queued with a fresh deadline (or cancelled, per
+// in-progress-action). Admins get one summary notification per sweep that changed anything.
+@Service
+public class TaskDeadlineSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDeadlineSweeper.class);
+
+    public enum OverdueAction {
+        REQUEUE, CANCEL
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private GeoSearchService geoSearchService;
+
+    @Autowired
+    private AvailableTaskQueue availableTaskQueue;
+
+    @Autowired
+    private VolunteerMatchingService matchingService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Value("${rakshak.tasks.sweeper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rakshak.tasks.sweeper.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${rakshak.tasks.sweeper.max-chunks-per-sweep:100}")
+    private int maxChunksPerSweep;
+
+    @Value("${rakshak.tasks.sweeper.in-progress-action:REQUEUE}")
+    private OverdueAction inProgressAction;
+
+    @Value("${rakshak.tasks.sweeper.requeue-extension-hours:24}")
+    private long requeueExtensionHours;
+
+    @Value("${rakshak.tasks.sweeper.notify-admins:true}")
+    private boolean notifyAdmins;
+
+    private final AtomicLong sweeps = new AtomicLong();
+    private final AtomicLong totalCancelled = new AtomicLong();
+    private final AtomicLong totalRequeued = new AtomicLong();
+    private final AtomicReference<SweepResult> lastSweep = new AtomicReference<>();
+
+    @Scheduled(initialDelayString = "${rakshak.tasks.sweeper.initial-delay-ms:60000}",
+               fixedDelayString = "${rakshak.tasks.sweeper.interval-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        SweepResult result = new SweepResult(now);
+
+        sweepStatus(TaskStatus.PENDING, now, result);
+        sweepStatus(TaskStatus.IN_PROGRESS, now, result);
+
+        result.durationMillis = System.currentTimeMillis() - startedAt;
+        sweeps.incrementAndGet();
+        totalCancelled.addAndGet(result.pendingCancelled + result.inProgressCancelled);
+        totalRequeued.addAndGet(result.requeued);
+        lastSweep.set(result);
+
+        int changed = result.pendingCancelled + result.inProgressCancelled + result.requeued;
+        if (changed > 0) {
+            log.info("Deadline sweep: {} pending cancelled, {} in-progress cancelled, {} re-queued in {} chunks, {} ms",
+                    result.pendingCancelled, result.inProgressCancelled, result.requeued, result.chunks, result.durationMillis);
+            if (notifyAdmins) {
+                notifyAdmins(result);
+            }
+        } else {
+            log.debug("Deadline sweep: nothing overdue, {} ms", result.durationMillis);
+        }
+    }
+
+    public long getCancelledCount() {
+        return totalCancelled.get();
+    }
+
+    public long getRequeuedCount() {
+        return totalRequeued.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("inProgressAction", inProgressAction);
+        stats.put("sweeps", sweeps.get());
+        stats.put("totalCancelled", totalCancelled.get());
+        stats.put("totalRequeued", totalRequeued.get());
+        SweepResult last = lastSweep.get();
+        if (last != null) {
+            stats.put("lastSweepAt", last.startedAt);
+            stats.put("lastDurationMillis", last.durationMillis);
+            stats.put("lastChunks", last.chunks);
+            stats.put("lastPendingCancelled", last.pendingCancelled);
+            stats.put("lastInProgressCancelled", last.inProgressCancelled);
+            stats.put("lastRequeued", last.requeued);
+            stats.put("lastChunkLimitReached", last.chunkLimitReached);
+        }
+        return stats;
+    }
+
+    // Processed rows stop matching (new status or new deadline), so every chunk reads from the front
+    private void sweepStatus(TaskStatus status, LocalDateTime now, SweepResult result) {
+        while (true) {
+            if (result.chunks >= maxChunksPerSweep) {
+                // Pick up the rest next time instead of monopolizing the scheduler
+                result.chunkLimitReached = true;
+                return;
+            }
+            List<OverdueTask> chunk = transactionTemplate.execute(tx -> processChunk(status, now));
+            if (chunk == null || chunk.isEmpty()) {
+                return;
+            }
+            result.chunks++;
+            afterChunk(status, chunk, result);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    // Runs in its own transaction: lock one chunk of overdue tasks and move them all at once
+    private List<OverdueTask> processChunk(TaskStatus status, LocalDateTime now) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("status", status.name());
+        params.put("now", Timestamp.valueOf(now));
+        params.put("limit", chunkSize);
+        List<OverdueTask> chunk = jdbcTemplate.query(
+                "SELECT task_id, volunteer_id FROM tasks WHERE status = :status AND deadline < :now " +
+                "ORDER BY deadline, task_id LIMIT :limit FOR UPDATE",
+                params,
+                (rs, rowNum) -> {
+                    int volunteerId = rs.getInt("volunteer_id");
+                    return new OverdueTask(rs.getInt("task_id"), rs.wasNull() ? null : volunteerId);
+                });
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+
+        List<Integer> taskIds = chunk.stream().map(task -> task.taskId).toList();
+        if (status == TaskStatus.IN_PROGRESS && inProgressAction == OverdueAction.REQUEUE) {
+            jdbcTemplate.update(
+                    "UPDATE tasks SET status = 'PENDING', volunteer_id = NULL, deadline = :deadline WHERE task_id IN (:ids)",
+                    Map.of("deadline", Timestamp.valueOf(now.plusHours(requeueExtensionHours)), "ids", taskIds));
+        } else {
+            jdbcTemplate.update("UPDATE tasks SET status = 'CANCELLED' WHERE task_id IN (:ids)", Map.of("ids", taskIds));
+        }
+        return chunk;
+    }
+
+    // After the chunk committed: bring the counters and in-memory indexes in line
+    private void afterChunk(TaskStatus status, List<OverdueTask> chunk, SweepResult result) {
+        boolean requeue = status == TaskStatus.IN_PROGRESS && inProgressAction == OverdueAction.REQUEUE;
+        TaskStatus newStatus = requeue ? TaskStatus.PENDING : TaskStatus.CANCELLED;
+        dashboardService.move(DashboardService.TASKS_BY_STATUS, status, newStatus, chunk.size());
+
+        List<Integer> taskIds = new ArrayList<>(chunk.size());
+        for (OverdueTask task : chunk) {
+            taskIds.add(task.taskId);
+            if (task.volunteerId != null) {
+                matchingService.taskStatusChanged(task.volunteerId, status, newStatus);
+            }
+            matchingService.withdrawOffers(task.taskId);
+        }
+
+        if (requeue) {
+            // Back on the market: index and offer them again with their new deadline
+            for (Task task : taskRepository.findAllById(taskIds)) {
+                geoSearchService.taskChanged(task);
+                availableTaskQueue.taskChanged(task);
+                matchingService.offerTask(task);
+            }
+            result.requeued += chunk.size();
+        } else {
+            for (Integer taskId : taskIds) {
+                geoSearchService.taskRemoved(taskId);
+                availableTaskQueue.taskRemoved(taskId);
+            }
+            if (status == TaskStatus.PENDING) {
+                result.pendingCancelled += chunk.size();
+            } else {
+                result.inProgressCancelled += chunk.size();
+            }
+        }
+    }
+
+    private void notifyAdmins(SweepResult result) {
+        String message = String.format("Overdue tasks handled: %d pending cancelled, %d in-progress %s.",
+                result.pendingCancelled,
+                inProgressAction == OverdueAction.REQUEUE ? result.requeued : result.inProgressCancelled,
+                inProgressAction == OverdueAction.REQUEUE ? "unassigned and re-queued" : "cancelled");
+        if (result.chunkLimitReached) {
+            message += " More overdue tasks remain and will be handled in the next sweep.";
+        }
+        try {
+            notificationService.createNotification(new Notification("Task deadlines enforced", message,
+                    "Important", "Admin", LocalDateTime.now(), true));
+        } catch (RuntimeException e) {
+            // The sweep itself already committed; a failed summary must not undo or repeat it
+            log.warn("Could not notify admins about the deadline sweep", e);
+        }
+    }
+
+    private static final class OverdueTask {
+        private final int taskId;
+        private final Integer volunteerId;
+
+        private OverdueTask(int taskId, Integer volunteerId) {
+            this.taskId = taskId;
+            this.volunteerId = volunteerId;
+        }
+    }
+
+    private static final class SweepResult {
+        private final LocalDateTime startedAt;
+        private long durationMillis;
+        private int chunks;
+        private int pendingCancelled;
+        private int inProgressCancelled;
+        private int requeued;
+        private boolean chunkLimitReached;
+
+        private SweepResult(LocalDateTime startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.marian.project.service;
+
+import com.marian.project.model.TaskRemark;
+import com.marian.project.model.TaskRemark.AuthorRole;
+import com.marian.project.repository.TaskRemarkRepository;
+import com.marian.project.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Splits the old volunteer_remarks / admin_remarks blobs ("yyyy-MM-dd HH:mm: text" lines) into
+// task_remarks rows and leaves only the latest remark in the column. Runs once per task, a chunk of
+// tasks per transaction, before the web server starts taking requests, so no new remark can land
+// on a task whose history has not been moved yet. Tasks that already have rows are skipped.
+@Component
+public class TaskRemarkMigration implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRemarkMigration.class);
+
+    static final DateTimeFormatter REMARK_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final Pattern REMARK_LINE = Pattern.compile("^(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}): (.*)$");
+
+    private final TaskRepository taskRepository;
+    private final TaskRemarkRepository taskRemarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TaskRemarkMigration(TaskRepository taskRepository, TaskRemarkRepository taskRemarkRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${rakshak.tasks.remarks.migration-chunk-size:200}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.taskRemarkRepository = taskRemarkRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int migratedTasks = 0;
+        int lastTaskId = 0;
+        while (true) {
+            int afterTaskId = lastTaskId;
+            List<Object[]> chunk = taskRepository.findUnmigratedRemarks(afterTaskId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(tx -> chunk.forEach(this::migrate));
+            migratedTasks += chunk.size();
+            lastTaskId = (Integer) chunk.get(chunk.size() - 1)[0];
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+        if (migratedTasks > 0) {
+            log.info("Moved remarks of {} tasks into task_remarks", migratedTasks);
+        }
+    }
+
+    // row = taskId, volunteerId, volunteerRemarks, adminRemarks, createdAt
+    private void migrate(Object[] row) {
+        Integer taskId = (Integer) row[0];
+        Integer volunteerId = (Integer) row[1];
+        LocalDateTime taskCreatedAt = (LocalDateTime) row[4];
+
+        List<TaskRemark> remarks = new ArrayList<>();
+        // Volunteer remarks could only be added while a volunteer held the task; take the current one as author
+        remarks.addAll(split(taskId, volunteerId, AuthorRole.VOLUNTEER, (String) row[2], taskCreatedAt));
+        remarks.addAll(split(taskId, null, AuthorRole.ADMIN, (String) row[3], taskCreatedAt));
+        // Oldest first so ids follow time, as they do for remarks appended from now on
+        remarks.sort((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()));
+        taskRemarkRepository.saveAll(remarks);
+
+        taskRepository.updateLatestVolunteerRemark(taskId, latest(remarks, AuthorRole.VOLUNTEER));
+        taskRepository.updateLatestAdminRemark(taskId, latest(remarks, AuthorRole.ADMIN));
+    }
+
+    // Lines without a timestamp continue the remark above them (or, at the top, are one undated remark)
+    private List<TaskRemark> split(Integer taskId, Integer authorId, AuthorRole role, String blob, LocalDateTime fallbackTime) {
+        List<TaskRemark> remarks = new ArrayList<>();
+        if (blob == null || blob.isBlank()) {
+            return remarks;
+        }
+        LocalDateTime time = null;
+        StringBuilder text = null;
+        for (String line : blob.split("\r?\n")) {
+            Matcher matcher = REMARK_LINE.matcher(line);
+            LocalDateTime lineTime = matcher.matches() ? parseTime(matcher.group(1)) : null;
+            if (lineTime != null) {
+                if (text != null) {
+                    remarks.add(new TaskRemark(taskId, authorId, role, text.toString(), time));
+                }
+                time = lineTime;
+                text = new StringBuilder(matcher.group(2));
+            } else if (text != null) {
+                text.append('\n').append(line);
+            } else {
+                time = fallbackTime != null ? fallbackTime : LocalDateTime.now();
+                text = new StringBuilder(line);
+            }
+        }
+        remarks.add(new TaskRemark(taskId, authorId, role, text.toString(), time));
+        return remarks;
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        try {
+            return LocalDateTime.parse(value, REMARK_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String latest(List<TaskRemark> remarks, AuthorRole role) {
+        for (int i = remarks.size() - 1; i >= 0; i--) {
+            TaskRemark remark = remarks.get(i);
+            if (remark.getAuthorRole() == role) {
+                return remark.getCreatedAt().format(REMARK_TIME) + ": " + remark.getText();
+            }
+        }
+        return null;
+    }
+}
@@ -1,17 +1,26 @@
 package com.marian.project.service;
 
+import com.marian.project.dto.BulkCreateResultDTO;
+import com.marian.project.dto.PageResponse;
+import com.marian.project.dto.TaskOfferDTO;
+import com.marian.project.dto.VolunteerMatchDTO;
 import com.marian.project.model.Task;
 import com.marian.project.model.Task.TaskStatus;
+import com.marian.project.model.TaskRemark;
 import com.marian.project.model.TaskRequest;
 import com.marian.project.model.User;
+import com.marian.project.repository.TaskRemarkRepository;
 import com.marian.project.repository.TaskRepository;
 import com.marian.project.repository.TaskRequestRepository;
 import com.marian.project.repository.UserRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.criteria.Path;
@@ -21,7 +30,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -40,16 +49,55 @@ public class TaskService {
     @Autowired
     private TaskRequestRepository taskRequestRepository;
 
+    @Autowired
+    private TaskRemarkRepository taskRemarkRepository;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private GeoSearchService geoSearchService;
+
+    @Autowired
+    private VolunteerMatchingService matchingService;
+
+    @Autowired
+    private AvailableTaskQueue availableTaskQueue;
+
+    @Autowired
+    private BulkInsertService bulkInsertService;
+
     // Task Request Methods
     public TaskRequest createTaskRequest(TaskRequest taskRequest) {
         taskRequest.setStatus(TaskRequest.RequestStatus.PENDING);
-        return taskRequestRepository.save(taskRequest);
+        TaskRequest saved = taskRequestRepository.save(taskRequest);
+        dashboardService.move(DashboardService.TASK_REQUESTS_BY_STATUS, null, saved.getStatus());
+        return saved;
+    }
+
+    // Create many task requests in one transaction, inserted in JDBC batches
+    @Transactional
+    public BulkCreateResultDTO<Integer> createTaskRequests(List<TaskRequest> taskRequests) {
+        bulkInsertService.checkSize(taskRequests);
+        taskRequests.forEach(taskRequest -> taskRequest.setStatus(TaskRequest.RequestStatus.PENDING));
+        List<Integer> ids = bulkInsertService.insertAll(taskRequestRepository, taskRequests, TaskRequest::getRequestId);
+        AfterCommit.run(() -> dashboardService.move(DashboardService.TASK_REQUESTS_BY_STATUS, null,
+                TaskRequest.RequestStatus.PENDING, ids.size()));
+        return new BulkCreateResultDTO<>(ids);
     }
 
     public List<TaskRequest> getAllTaskRequests() {
         return taskRequestRepository.findAll();
     }
 
+    public PageResponse<TaskRequest> getTaskRequestPage(Long cursor, TaskRequest.RequestStatus status,
+                                                        LocalDateTime from, LocalDateTime to, Integer limit) {
+        int pageSize = PageResponse.clampLimit(limit);
+        List<TaskRequest> rows = taskRequestRepository.findPage(cursor == null ? null : cursor.intValue(),
+                status, from, to, PageRequest.of(0, pageSize + 1));
+        return PageResponse.of(rows, pageSize, TaskRequest::getRequestId);
+    }
+
     public List<TaskRequest> getTaskRequestsByUser(Long userId) {
         // Assuming you have a UserRepository to fetch the User entity
         User user = userRepository.findByUserId(userId)
@@ -67,6 +115,7 @@ public class TaskService {
             .orElseThrow(() -> new EntityNotFoundException("TaskRequest not found with id: " + requestId));
 
         // Update task request status
+        TaskRequest.RequestStatus previousStatus = taskRequest.getStatus();
         taskRequest.setStatus(TaskRequest.RequestStatus.APPROVED);
         taskRequestRepository.save(taskRequest);
 
@@ -81,25 +130,70 @@ public class TaskService {
         // Optional: Set deadline (e.g., 7 days from creation)
         task.setDeadline(LocalDateTime.now().plusDays(7));
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        AfterCommit.run(() -> {
+            dashboardService.move(DashboardService.TASK_REQUESTS_BY_STATUS, previousStatus, TaskRequest.RequestStatus.APPROVED);
+            dashboardService.move(DashboardService.TASKS_BY_STATUS, null, saved.getStatus());
+            geoSearchService.taskChanged(saved);
+            availableTaskQueue.taskChanged(saved);
+        });
+        matchingService.offerTask(saved);
+        return saved;
     }
 
     public TaskRequest rejectTaskRequest(Integer requestId) {
         TaskRequest taskRequest = taskRequestRepository.findById(requestId)
             .orElseThrow(() -> new EntityNotFoundException("TaskRequest not found with id: " + requestId));
         
+        dashboardService.move(DashboardService.TASK_REQUESTS_BY_STATUS, taskRequest.getStatus(), TaskRequest.RequestStatus.REJECTED);
         taskRequest.setStatus(TaskRequest.RequestStatus.REJECTED);
         return taskRequestRepository.save(taskRequest);
     }
 
     public void deleteTaskRequest(Integer requestId) {
-        taskRequestRepository.deleteById(requestId);
+        taskRequestRepository.findById(requestId).ifPresent(taskRequest -> {
+            taskRequestRepository.delete(taskRequest);
+            dashboardService.move(DashboardService.TASK_REQUESTS_BY_STATUS, taskRequest.getStatus(), null);
+        });
     }
 
     public List<Task> getAvailableTasks() {
         return taskRepository.findAvailableTasks();
     }
 
+    // The highest-priority available tasks (deadline, disaster severity, age), read off the in-memory queue
+    public List<Task> getNextAvailableTasks(Integer limit) {
+        List<Integer> taskIds = availableTaskQueue.peek(PageResponse.clampLimit(limit));
+        if (taskIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Integer, Task> byId = new HashMap<>();
+        for (Task task : taskRepository.findAllById(taskIds)) {
+            byId.put(task.getTaskId(), task);
+        }
+        List<Task> tasks = new ArrayList<>(taskIds.size());
+        for (Integer taskId : taskIds) {
+            Task task = byId.get(taskId);
+            // Skip anything claimed since the queue last heard about it
+            if (task != null && task.getStatus() == TaskStatus.PENDING && task.getVolunteer() == null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    // Volunteers the matching engine would pick for a task, best first
+    public List<VolunteerMatchDTO> getTaskMatches(Integer taskId, int limit) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        return matchingService.rank(task, limit);
+    }
+
+    // Tasks currently offered to a volunteer by the matching engine
+    public List<TaskOfferDTO> getTaskOffers(Long volunteerId) {
+        return matchingService.getOffers(volunteerId.intValue());
+    }
+
     public List<Task> getTasksByVolunteer(Long volunteerId) {
         User volunteer = userRepository.findByUserId(volunteerId)
                 .orElseThrow(() -> new EntityNotFoundException("Volunteer not found"));
@@ -108,39 +202,37 @@ public class TaskService {
 
     @Transactional
     public Task acceptTask(Integer taskId, Long volunteerId) {
-        // Validate task existence
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
-        
-        // Check if task is already assigned
-        if (task.getVolunteer() != null) {
-            throw new IllegalStateException("Task is already assigned to another volunteer");
-        }
-
-        // Check if task is in a state that can be accepted
-        if (task.getStatus() != TaskStatus.PENDING) {
-            throw new IllegalStateException("Task is not in a state that can be accepted. Current status: " + task.getStatus());
-        }
-
         // Validate volunteer
         User volunteer = userRepository.findByUserId(volunteerId)
                 .orElseThrow(() -> new EntityNotFoundException("Volunteer not found with id: " + volunteerId));
         
-        // Debugging: Print out the actual role and ensure correct comparison
-        System.out.println("User Role: " + volunteer.getRole());
-        System.out.println("User ID: " + volunteer.getUserId());
-        
         // More flexible role checking
         if (volunteer.getRole() == null || 
             !volunteer.getRole().trim().equalsIgnoreCase("volunteer")) {
             throw new IllegalArgumentException("User is not authorized to accept tasks. Current role: " + volunteer.getRole());
         }
 
-        // Assign volunteer and update task status
-        task.setVolunteer(volunteer);
-        task.setStatus(TaskStatus.IN_PROGRESS);
-        
-        return taskRepository.save(task);
+        // Assign volunteer and update task status in one conditional update, so when several
+        // volunteers accept the same task at once exactly one of them gets it
+        if (taskRepository.claimTask(taskId, volunteer, TaskStatus.PENDING, TaskStatus.IN_PROGRESS) == 0) {
+            Task task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+            if (task.getVolunteer() != null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Task is already assigned to another volunteer");
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Task is not in a state that can be accepted. Current status: " + task.getStatus());
+        }
+        AfterCommit.run(() -> {
+            dashboardService.move(DashboardService.TASKS_BY_STATUS, TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+            geoSearchService.taskRemoved(taskId);
+            availableTaskQueue.taskRemoved(taskId);
+            matchingService.taskAssigned(volunteer.getUserId());
+            matchingService.withdrawOffers(taskId);
+        });
+
+        return taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
     }
 
     @Transactional
@@ -148,76 +240,111 @@ public class TaskService {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
         
+        TaskStatus previousStatus = task.getStatus();
+        Integer volunteerId = task.getVolunteer() == null ? null : task.getVolunteer().getUserId();
         task.setStatus(status);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        AfterCommit.run(() -> {
+            dashboardService.move(DashboardService.TASKS_BY_STATUS, previousStatus, status);
+            if (volunteerId != null) {
+                matchingService.taskStatusChanged(volunteerId, previousStatus, status);
+            }
+            geoSearchService.taskChanged(saved);
+            availableTaskQueue.taskChanged(saved);
+            if (status != TaskStatus.PENDING) {
+                matchingService.withdrawOffers(taskId);
+            }
+        });
+        return saved;
     }
 
     @Transactional
     public Task addRemarks(Integer taskId, String volunteerRemarks, String adminRemarks) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-
         if (volunteerRemarks != null) {
-            task.setVolunteerRemarks(volunteerRemarks);
+            appendVolunteerRemark(taskId, volunteerRemarks);
         }
         if (adminRemarks != null) {
-            task.setAdminRemarks(adminRemarks);
+            appendAdminRemark(taskId, adminRemarks, null);
         }
-        return taskRepository.save(task);
+        return taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
     }
+
     @Transactional
     public Task addVolunteerRemarks(Integer taskId, String remarks) {
-        Task task = taskRepository.findById(taskId)
+        appendVolunteerRemark(taskId, remarks);
+        return taskRepository.findById(taskId)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
-        
-        if (task.getVolunteer() == null) {
-            throw new IllegalStateException("Cannot add volunteer remarks - task is not assigned to a volunteer");
-        }
-
-        // Append new remarks to existing ones (if any)
-        String existingRemarks = task.getVolunteerRemarks();
-        LocalDateTime now = LocalDateTime.now();
-        String timestampedRemarks = now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) + ": " + remarks;
-        
-        if (existingRemarks != null && !existingRemarks.isEmpty()) {
-            task.setVolunteerRemarks(existingRemarks + "\n" + timestampedRemarks);
-        } else {
-            task.setVolunteerRemarks(timestampedRemarks);
-        }
-
-        return taskRepository.save(task);
     }
 
     @Transactional
-    public Task addAdminRemarks(Integer taskId, String remarks) {
-        Task task = taskRepository.findById(taskId)
+    public Task addAdminRemarks(Integer taskId, String remarks, Integer authorId) {
+        appendAdminRemark(taskId, remarks, authorId);
+        return taskRepository.findById(taskId)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+    }
 
-        // Append new remarks to existing ones (if any)
-        String existingRemarks = task.getAdminRemarks();
-        LocalDateTime now = LocalDateTime.now();
-        String timestampedRemarks = now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) + ": " + remarks;
-        
-        if (existingRemarks != null && !existingRemarks.isEmpty()) {
-            task.setAdminRemarks(existingRemarks + "\n" + timestampedRemarks);
-        } else {
-            task.setAdminRemarks(timestampedRemarks);
+    // Remarks are appended as rows of their own; the task only keeps a copy of the latest one for list views
+    private TaskRemark appendVolunteerRemark(Integer taskId, String remarks) {
+        validateRemarks(remarks);
+        Object[] target = findRemarkTarget(taskId);
+        Integer volunteerId = (Integer) target[1];
+        if (volunteerId == null) {
+            throw new IllegalStateException("Cannot add volunteer remarks - task is not assigned to a volunteer");
         }
 
-        return taskRepository.save(task);
+        TaskRemark remark = taskRemarkRepository.save(
+                new TaskRemark(taskId, volunteerId, TaskRemark.AuthorRole.VOLUNTEER, remarks.trim(), LocalDateTime.now()));
+        taskRepository.updateLatestVolunteerRemark(taskId, formatRemark(remark));
+        return remark;
     }
 
-    public Map<String, String> getTaskRemarks(Integer taskId) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+    private TaskRemark appendAdminRemark(Integer taskId, String remarks, Integer authorId) {
+        validateRemarks(remarks);
+        findRemarkTarget(taskId);
 
-        Map<String, String> remarks = new HashMap<>();
-        remarks.put("volunteerRemarks", task.getVolunteerRemarks());
-        remarks.put("adminRemarks", task.getAdminRemarks());
+        TaskRemark remark = taskRemarkRepository.save(
+                new TaskRemark(taskId, authorId, TaskRemark.AuthorRole.ADMIN, remarks.trim(), LocalDateTime.now()));
+        taskRepository.updateLatestAdminRemark(taskId, formatRemark(remark));
+        return remark;
+    }
 
+    // Every remark of a task, oldest first, one "yyyy-MM-dd HH:mm: text" line each, as the task screens
+    // have always read them; null for a role without remarks
+    public Map<String, String> getTaskRemarks(Integer taskId) {
+        findRemarkTarget(taskId);
+        Map<String, String> remarks = new HashMap<>();
+        remarks.put("volunteerRemarks", null);
+        remarks.put("adminRemarks", null);
+        for (TaskRemark remark : taskRemarkRepository.findByTaskIdOrderByIdAsc(taskId)) {
+            String key = remark.getAuthorRole() == TaskRemark.AuthorRole.VOLUNTEER ? "volunteerRemarks" : "adminRemarks";
+            String line = formatRemark(remark);
+            remarks.merge(key, line, (earlier, next) -> earlier + "\n" + next);
+        }
         return remarks;
     }
 
+    // Keyset page of a task's remarks, newest first, optionally only the volunteer's or the admins'
+    public PageResponse<TaskRemark> getTaskRemarkHistory(Integer taskId, TaskRemark.AuthorRole authorRole, Long cursor, Integer limit) {
+        findRemarkTarget(taskId);
+        int pageSize = PageResponse.clampLimit(limit);
+        List<TaskRemark> rows = taskRemarkRepository.findPage(taskId, authorRole, cursor, PageRequest.of(0, pageSize + 1));
+        return PageResponse.of(rows, pageSize, TaskRemark::getId);
+    }
+
+    // taskId and assigned volunteer id (or null)
+    private Object[] findRemarkTarget(Integer taskId) {
+        List<Object[]> rows = taskRepository.findRemarkTarget(taskId);
+        if (rows.isEmpty()) {
+            throw new EntityNotFoundException("Task not found with id: " + taskId);
+        }
+        return rows.get(0);
+    }
+
+    private String formatRemark(TaskRemark remark) {
+        return remark.getCreatedAt().format(TaskRemarkMigration.REMARK_TIME) + ": " + remark.getText();
+    }
+
     // Helper method to validate remarks
     private void validateRemarks(String remarks) {
         if (remarks == null || remarks.trim().isEmpty()) {
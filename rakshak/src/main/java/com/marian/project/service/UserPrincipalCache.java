@@ -0,0 +1,137 @@
+package com.marian.project.service;
+
+import com.marian.project.dto.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounded LRU cache of login principals keyed by email. Entries expire after a fixed TTL and are
+// evicted explicitly whenever the underlying user row changes (update, delete, role change, password reset).
+// A loader reads getEvictionCount() before its database read and passes it to put: if any eviction ran in
+// between, the row it read may already be stale, so it is not cached.
+@Component
+public class UserPrincipalCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedPrincipal> entries;
+    // Guarded by lock; bumped by every evict, whether or not the entry was cached yet
+    private long evictions;
+
+    public UserPrincipalCache(@Value("${rakshak.auth.principal-cache.max-size:10000}") int maxSize,
+                              @Value("${rakshak.auth.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        // Access order so the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > UserPrincipalCache.this.maxSize;
+            }
+        };
+    }
+
+    // Cached principal for the email, or null when absent or expired
+    public UserPrincipal get(String email) {
+        String key = keyOf(email);
+        lock.lock();
+        try {
+            CachedPrincipal cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt < System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return cached.principal;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getEvictionCount() {
+        lock.lock();
+        try {
+            return evictions;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Cache a principal loaded after evictionCount was read; dropped if an eviction happened since
+    public void put(String email, UserPrincipal principal, long evictionCount) {
+        if (maxSize <= 0) {
+            return;
+        }
+        CachedPrincipal cached = new CachedPrincipal(principal, System.currentTimeMillis() + ttlMillis);
+        lock.lock();
+        try {
+            if (evictions != evictionCount) {
+                return;
+            }
+            entries.put(keyOf(email), cached);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            evictions++;
+            entries.remove(keyOf(email));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Evict by id when the caller does not know the email; linear, but only used on admin edits
+    public void evictUser(int userId) {
+        lock.lock();
+        try {
+            evictions++;
+            Iterator<CachedPrincipal> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().principal.getUserId() == userId) {
+                    it.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Emails compare case-insensitively in the users table, so the cache does too
+    private String keyOf(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class CachedPrincipal {
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        private CachedPrincipal(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.marian.project.service;
 
+import com.marian.project.dto.PageResponse;
+import com.marian.project.dto.UserPrincipal;
 import com.marian.project.model.User;
 import com.marian.project.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class UserService {
@@ -15,13 +20,35 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(); // BCrypt encoder
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private PasswordHasher passwordHasher; // BCrypt on a dedicated, bounded pool
+
+    @Autowired
+    private VolunteerMatchingService matchingService;
+
+    @Autowired
+    private BulkInsertService bulkInsertService;
 
     // Fetch all users
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    // Fetch one keyset page of users matching the (optional) filters
+    public PageResponse<User> getUserPage(Long cursor, String role, String userStatus, LocalDateTime from,
+                                          LocalDateTime to, Integer limit) {
+        int pageSize = PageResponse.clampLimit(limit);
+        List<User> rows = userRepository.findPage(cursor == null ? null : cursor.intValue(), role, userStatus,
+                from, to, PageRequest.of(0, pageSize + 1));
+        return PageResponse.of(rows, pageSize, User::getUserId);
+    }
+
     // Fetch a single user by ID
     public Optional<User> getUserById(int userId) {
         return userRepository.findById(userId);
@@ -29,25 +56,78 @@ public class UserService {
 
     public User saveUser(User user) {
         // Encrypt password before saving it
-        String encryptedPassword = passwordEncoder.encode(user.getPassword());
+        String encryptedPassword = passwordHasher.encode(user.getPassword());
         user.setPassword(encryptedPassword); // Set encrypted password
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        dashboardService.move(DashboardService.USERS_BY_ROLE, null, saved.getRole());
+        AfterCommit.run(() -> {
+            principalCache.evict(saved.getEmail());
+            matchingService.volunteerChanged(saved);
+        });
+        return saved;
+    }
+
+    // Insert users whose passwords are already hashed (bulk import), in JDBC batches
+    @Transactional
+    public List<Integer> createUsers(List<User> users) {
+        List<Integer> ids = bulkInsertService.insertAll(userRepository, users, User::getUserId);
+        for (User saved : users) {
+            dashboardService.move(DashboardService.USERS_BY_ROLE, null, saved.getRole());
+            AfterCommit.run(() -> {
+                principalCache.evict(saved.getEmail());
+                matchingService.volunteerChanged(saved);
+            });
+        }
+        return ids;
     }
 
-    // Update an existing user by ID
+    // Update an existing user by ID. Only the profile fields the admin screens edit are copied from the
+    // body (a null leaves the stored value); the password hash is never taken from it, because the body
+    // is a user read back from GET, which does not carry the password
     public User updateUser(int userId, User user) {
         Optional<User> existingUser = userRepository.findById(userId);
         if (existingUser.isPresent()) {
-            user.setUserId(userId); // Ensure the user ID is preserved when updating
-            return userRepository.save(user);
+            User existing = existingUser.get();
+            String previousRole = existing.getRole();
+            String previousEmail = existing.getEmail();
+            copyIfPresent(user.getName(), existing::setName);
+            copyIfPresent(user.getEmail(), existing::setEmail);
+            copyIfPresent(user.getPhoneNumber(), existing::setPhoneNumber);
+            copyIfPresent(user.getLocation(), existing::setLocation);
+            copyIfPresent(user.getRole(), existing::setRole);
+            copyIfPresent(user.getUserStatus(), existing::setUserStatus);
+            copyIfPresent(user.getLatitude(), existing::setLatitude);
+            copyIfPresent(user.getLongitude(), existing::setLongitude);
+            User saved = userRepository.save(existing);
+            dashboardService.move(DashboardService.USERS_BY_ROLE, previousRole, saved.getRole());
+            // A login that read the old row before the commit must not be able to cache it afterwards
+            AfterCommit.run(() -> {
+                principalCache.evictUser(userId);
+                principalCache.evict(previousEmail);
+                principalCache.evict(saved.getEmail());
+                matchingService.volunteerChanged(saved);
+            });
+            return saved;
         }
         return null; // or throw an exception
     }
 
+    private static <T> void copyIfPresent(T value, Consumer<T> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
     // Delete a user by ID
     public String deleteUserById(int userId) {
-        if (userRepository.existsById(userId)) {
-            userRepository.deleteById(userId);
+        Optional<User> existingUser = userRepository.findById(userId);
+        if (existingUser.isPresent()) {
+            userRepository.delete(existingUser.get());
+            dashboardService.move(DashboardService.USERS_BY_ROLE, existingUser.get().getRole(), null);
+            AfterCommit.run(() -> {
+                principalCache.evict(existingUser.get().getEmail());
+                matchingService.volunteerRemoved(userId);
+            });
             return "User with ID " + userId + " was deleted successfully.";
         } else {
             return "User not found!";
@@ -62,15 +142,35 @@ public class UserService {
 
     // Authenticate user by email and password
     public boolean authenticateUser(String email, String password) {
-        Optional<User> userOptional = userRepository.findByEmail(email);
+        return authenticate(email, password).isPresent();
+    }
 
-        if (userOptional.isPresent()) {
-            User user = userOptional.get();
-            // Compare the hashed password with the provided password
-            return passwordEncoder.matches(password, user.getPassword());
-        }
+    // Authenticate with a single (cached) lookup and return everything the login response needs;
+    // empty when the user is not found or the password does not match
+    public Optional<UserPrincipal> authenticate(String email, String password) {
+        return findPrincipal(email)
+                .filter(principal -> passwordHasher.matches(password, principal.getPasswordHash()));
+    }
 
-        return false; // User not found or incorrect credentials
+    // Set a new password (e.g. after a reset) and, once it has committed, drop the cached principal holding
+    // the old hash
+    public User updatePassword(User user, String newPassword) {
+        user.setPassword(passwordHasher.encode(newPassword));
+        User saved = userRepository.save(user);
+        AfterCommit.run(() -> principalCache.evict(saved.getEmail()));
+        return saved;
+    }
+
+    private Optional<UserPrincipal> findPrincipal(String email) {
+        UserPrincipal cached = principalCache.get(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Read before the query, so an eviction racing with it keeps the (possibly stale) row out of the cache
+        long evictionCount = principalCache.getEvictionCount();
+        Optional<UserPrincipal> loaded = userRepository.findPrincipalByEmail(email);
+        loaded.ifPresent(principal -> principalCache.put(email, principal, evictionCount));
+        return loaded;
     }
 
     // Get user status by email
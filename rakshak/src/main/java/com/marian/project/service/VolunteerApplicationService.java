@@ -1,13 +1,16 @@
 package com.marian.project.service;
 
+import com.marian.project.dto.PageResponse;
 import com.marian.project.dto.VolunteerApplicationDTO;
 import com.marian.project.model.User;
 import com.marian.project.model.VolunteerApplication;
 import com.marian.project.repository.UserRepository;
 import com.marian.project.repository.VolunteerApplicationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -21,6 +24,15 @@ public class VolunteerApplicationService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private VolunteerMatchingService matchingService;
+
     // Fetch all volunteer applications and map to DTO
     public List<VolunteerApplicationDTO> getAllApplications() {
         return volunteerApplicationRepository.findAll().stream()
@@ -28,6 +40,15 @@ public class VolunteerApplicationService {
                 .collect(Collectors.toList());
     }
 
+    // Fetch one keyset page of volunteer applications and map to DTO
+    public PageResponse<VolunteerApplicationDTO> getApplicationPage(Long cursor, VolunteerApplication.ApplicationStatus status,
+                                                                    LocalDateTime from, LocalDateTime to, Integer limit) {
+        int pageSize = PageResponse.clampLimit(limit);
+        List<VolunteerApplication> rows = volunteerApplicationRepository.findPage(cursor == null ? null : cursor.intValue(),
+                status, from, to, PageRequest.of(0, pageSize + 1));
+        return PageResponse.of(rows, pageSize, VolunteerApplication::getApplicationId).map(this::convertToDTO);
+    }
+
     // Fetch a specific volunteer application by ID and map to DTO
     public Optional<VolunteerApplicationDTO> getApplicationById(int applicationId) {
         return volunteerApplicationRepository.findById(applicationId).map(this::convertToDTO);
@@ -39,7 +60,9 @@ public class VolunteerApplicationService {
         if (optionalUser.isPresent()) {
             User user = optionalUser.get();
             application.setUser(user); // Set the valid User object before saving
-            return volunteerApplicationRepository.save(application);
+            VolunteerApplication saved = volunteerApplicationRepository.save(application);
+            dashboardService.move(DashboardService.VOLUNTEER_APPLICATIONS_BY_STATUS, null, saved.getStatus());
+            return saved;
         }
         return null; // Handle the case where the user is not found
     }
@@ -49,15 +72,20 @@ public class VolunteerApplicationService {
         Optional<VolunteerApplication> existingApplication = volunteerApplicationRepository.findById(applicationId);
         if (existingApplication.isPresent()) {
             application.setApplicationId(applicationId); // Preserve application ID
-            return volunteerApplicationRepository.save(application);
+            VolunteerApplication.ApplicationStatus previousStatus = existingApplication.get().getStatus();
+            VolunteerApplication saved = volunteerApplicationRepository.save(application);
+            dashboardService.move(DashboardService.VOLUNTEER_APPLICATIONS_BY_STATUS, previousStatus, saved.getStatus());
+            return saved;
         }
         return null; // or throw an exception
     }
 
     // Delete a volunteer application
     public String deleteApplication(int applicationId) {
-        if (volunteerApplicationRepository.existsById(applicationId)) {
-            volunteerApplicationRepository.deleteById(applicationId);
+        Optional<VolunteerApplication> existingApplication = volunteerApplicationRepository.findById(applicationId);
+        if (existingApplication.isPresent()) {
+            volunteerApplicationRepository.delete(existingApplication.get());
+            dashboardService.move(DashboardService.VOLUNTEER_APPLICATIONS_BY_STATUS, existingApplication.get().getStatus(), null);
             return "Volunteer application with ID " + applicationId + " was deleted successfully.";
         } else {
             return "Volunteer application not found!";
@@ -69,6 +97,7 @@ public class VolunteerApplicationService {
         Optional<VolunteerApplication> optionalApplication = volunteerApplicationRepository.findById(applicationId);
         if (optionalApplication.isPresent()) {
             VolunteerApplication application = optionalApplication.get();
+            dashboardService.move(DashboardService.VOLUNTEER_APPLICATIONS_BY_STATUS, application.getStatus(), VolunteerApplication.ApplicationStatus.APPROVED);
             application.setStatus(VolunteerApplication.ApplicationStatus.APPROVED); // Update status to Approved
             volunteerApplicationRepository.save(application);
 
@@ -76,8 +105,13 @@ public class VolunteerApplicationService {
             Optional<User> optionalUser = userRepository.findById(application.getUser().getUserId());
             if (optionalUser.isPresent()) {
                 User user = optionalUser.get();
+                dashboardService.move(DashboardService.USERS_BY_ROLE, user.getRole(), "Volunteer");
                 user.setRole("Volunteer");
                 userRepository.save(user); // Save updated user
+                AfterCommit.run(() -> {
+                    principalCache.evict(user.getEmail());
+                    matchingService.volunteerChanged(user);
+                });
                 return "Application approved, and user role updated to Volunteer.";
             }
             return "Application approved, but user not found!";
@@ -90,6 +124,7 @@ public class VolunteerApplicationService {
         Optional<VolunteerApplication> optionalApplication = volunteerApplicationRepository.findById(applicationId);
         if (optionalApplication.isPresent()) {
             VolunteerApplication application = optionalApplication.get();
+            dashboardService.move(DashboardService.VOLUNTEER_APPLICATIONS_BY_STATUS, application.getStatus(), VolunteerApplication.ApplicationStatus.REJECTED);
             application.setStatus(VolunteerApplication.ApplicationStatus.REJECTED); // Update status to Rejected
             volunteerApplicationRepository.save(application);
             return "Application rejected successfully.";
@@ -0,0 +1,289 @@
+package com.marian.project.service;
+
+import com.marian.project.dto.TaskOfferDTO;
+import com.marian.project.dto.VolunteerMatchDTO;
+import com.marian.project.geo.GeoGridIndex;
+import com.marian.project.model.Task;
+import com.marian.project.model.Task.TaskStatus;
+import com.marian.project.model.TaskRequest;
+import com.marian.project.model.User;
+import com.marian.project.repository.TaskRepository;
+import com.marian.project.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Offers a newly approved task to the best-placed volunteers instead of waiting for someone to
+// find it in the list. Every active volunteer's location, open-task load and last activity is kept
+// in memory (loaded from the database and updated by the task / user services), so ranking a task
+// is one pass over that map with a bounded heap and no queries. Scores are in kilometre-equivalents,
+// lower is better: distance + load-penalty-km per open task + up to idle-penalty-km for volunteers
+// who have not taken a task for a while.
+@Service
+public class VolunteerMatchingService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NotificationStreamService notificationStreamService;
+
+    @Value("${rakshak.matching.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rakshak.matching.top-k:5}")
+    private int topK;
+
+    @Value("${rakshak.matching.max-distance-km:50}")
+    private double maxDistanceKm;
+
+    @Value("${rakshak.matching.load-penalty-km:10}")
+    private double loadPenaltyKm;
+
+    @Value("${rakshak.matching.idle-penalty-km:5}")
+    private double idlePenaltyKm;
+
+    @Value("${rakshak.matching.idle-half-life-hours:72}")
+    private double idleHalfLifeHours;
+
+    @Value("${rakshak.matching.offer-ttl-minutes:1440}")
+    private long offerTtlMinutes;
+
+    // userId -> cached state of an active volunteer
+    private volatile Map<Integer, VolunteerState> volunteers = new ConcurrentHashMap<>();
+
+    // userId -> (taskId -> offer), and taskId -> volunteers it was offered to
+    private final Map<Integer, Map<Integer, TaskOfferDTO>> offersByVolunteer = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Integer>> offeredTo = new ConcurrentHashMap<>();
+
+    // Rank volunteers for a new task and push offers to the top k once the approving transaction commits
+    public void offerTask(Task task) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> sendOffers(task));
+    }
+
+    // Best volunteers for a task, best first
+    public List<VolunteerMatchDTO> rank(Task task, int limit) {
+        limit = Math.max(1, limit);
+        TaskRequest request = task.getTaskRequest();
+        Double taskLat = request == null ? null : request.getLatitude();
+        Double taskLon = request == null ? null : request.getLongitude();
+        boolean taskLocated = GeoGridIndex.isValid(taskLat, taskLon);
+        long now = System.currentTimeMillis();
+
+        // Max-heap on score holding the best `limit` candidates seen so far
+        PriorityQueue<VolunteerMatchDTO> best = new PriorityQueue<>(Comparator.comparingDouble(VolunteerMatchDTO::getScore).reversed());
+        for (VolunteerState volunteer : volunteers.values()) {
+            Double distance = null;
+            double distanceCost = 0;
+            if (taskLocated) {
+                if (GeoGridIndex.isValid(volunteer.latitude, volunteer.longitude)) {
+                    distance = GeoGridIndex.distanceKm(taskLat, taskLon, volunteer.latitude, volunteer.longitude);
+                    if (distance > maxDistanceKm) {
+                        continue;
+                    }
+                    distanceCost = distance;
+                } else {
+                    // Location unknown: still eligible, but behind everyone who is known to be in range
+                    distanceCost = maxDistanceKm;
+                }
+            }
+            int openTasks = volunteer.openTasks.get();
+            double score = distanceCost + openTasks * loadPenaltyKm + idleCost(volunteer.lastActiveMillis, now);
+            if (best.size() < limit) {
+                best.add(new VolunteerMatchDTO(volunteer.userId, volunteer.name, distance, openTasks, score));
+            } else if (score < best.peek().getScore()) {
+                best.poll();
+                best.add(new VolunteerMatchDTO(volunteer.userId, volunteer.name, distance, openTasks, score));
+            }
+        }
+        List<VolunteerMatchDTO> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingDouble(VolunteerMatchDTO::getScore));
+        return ranked;
+    }
+
+    // Offers currently open for a volunteer, newest first
+    public List<TaskOfferDTO> getOffers(int userId) {
+        Map<Integer, TaskOfferDTO> offers = offersByVolunteer.get(userId);
+        if (offers == null) {
+            return List.of();
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(offerTtlMinutes);
+        List<TaskOfferDTO> result = new ArrayList<>();
+        for (TaskOfferDTO offer : offers.values()) {
+            if (offer.getOfferedAt().isAfter(cutoff)) {
+                result.add(offer);
+            }
+        }
+        result.sort(Comparator.comparing(TaskOfferDTO::getOfferedAt).reversed());
+        return result;
+    }
+
+    // The task was claimed, cancelled or completed: take its offers back
+    public void withdrawOffers(int taskId) {
+        Set<Integer> userIds = offeredTo.remove(taskId);
+        if (userIds == null) {
+            return;
+        }
+        for (Integer userId : userIds) {
+            Map<Integer, TaskOfferDTO> offers = offersByVolunteer.get(userId);
+            if (offers != null && offers.remove(taskId) != null) {
+                notificationStreamService.publishToUser(userId, "task-offer-withdrawn", Map.of("taskId", taskId));
+            }
+        }
+    }
+
+    // A volunteer took a task
+    public void taskAssigned(int volunteerId) {
+        VolunteerState volunteer = volunteers.get(volunteerId);
+        if (volunteer != null) {
+            volunteer.openTasks.incrementAndGet();
+            volunteer.lastActiveMillis = System.currentTimeMillis();
+        }
+    }
+
+    // A task held by a volunteer changed status
+    public void taskStatusChanged(int volunteerId, TaskStatus from, TaskStatus to) {
+        VolunteerState volunteer = volunteers.get(volunteerId);
+        if (volunteer == null || from == to) {
+            return;
+        }
+        if (from == TaskStatus.IN_PROGRESS) {
+            volunteer.openTasks.updateAndGet(count -> Math.max(0, count - 1));
+        } else if (to == TaskStatus.IN_PROGRESS) {
+            volunteer.openTasks.incrementAndGet();
+        }
+        volunteer.lastActiveMillis = System.currentTimeMillis();
+    }
+
+    // A user was created, updated or became a volunteer
+    public void volunteerChanged(User user) {
+        boolean eligible = user.getRole() != null && user.getRole().trim().equalsIgnoreCase("volunteer")
+                && "active".equalsIgnoreCase(user.getUserStatus());
+        if (!eligible) {
+            volunteers.remove(user.getUserId());
+            return;
+        }
+        VolunteerState previous = volunteers.get(user.getUserId());
+        VolunteerState state = new VolunteerState(user.getUserId(), user.getName(), user.getLatitude(), user.getLongitude());
+        if (previous != null) {
+            state.openTasks.set(previous.openTasks.get());
+            state.lastActiveMillis = previous.lastActiveMillis;
+        }
+        volunteers.put(user.getUserId(), state);
+    }
+
+    public void volunteerRemoved(int userId) {
+        volunteers.remove(userId);
+        offersByVolunteer.remove(userId);
+    }
+
+    public int getVolunteerCount() {
+        return volunteers.size();
+    }
+
+    // Reload every volunteer's location, load and last activity (at startup, then periodically)
+    @Scheduled(initialDelay = 0, fixedDelayString = "${rakshak.matching.refresh-interval-ms:600000}")
+    public void refresh() {
+        Map<Integer, VolunteerState> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : userRepository.findActiveVolunteerLocations()) {
+            VolunteerState state = new VolunteerState((Integer) row[0], (String) row[1], (Double) row[2], (Double) row[3]);
+            loaded.put(state.userId, state);
+        }
+        for (Object[] row : taskRepository.countByVolunteerForStatus(TaskStatus.IN_PROGRESS)) {
+            VolunteerState state = loaded.get((Integer) row[0]);
+            if (state != null) {
+                state.openTasks.set(((Number) row[1]).intValue());
+                state.lastActiveMillis = toEpochMillis(row[2]);
+            }
+        }
+        // Keep activity seen since the last refresh when it is newer than what the database shows
+        for (VolunteerState state : loaded.values()) {
+            VolunteerState previous = volunteers.get(state.userId);
+            if (previous != null && previous.lastActiveMillis > state.lastActiveMillis) {
+                state.lastActiveMillis = previous.lastActiveMillis;
+            }
+        }
+        volunteers = loaded;
+        pruneExpiredOffers();
+    }
+
+    private void sendOffers(Task task) {
+        List<VolunteerMatchDTO> matches = rank(task, topK);
+        TaskRequest request = task.getTaskRequest();
+        LocalDateTime now = LocalDateTime.now();
+        Set<Integer> userIds = offeredTo.computeIfAbsent(task.getTaskId(), id -> ConcurrentHashMap.newKeySet());
+        for (VolunteerMatchDTO match : matches) {
+            TaskOfferDTO offer = new TaskOfferDTO(task.getTaskId(),
+                    request == null ? null : request.getRequestTitle(),
+                    request == null ? null : request.getLocation(),
+                    match.getDistanceKm(), match.getScore(), now);
+            offersByVolunteer.computeIfAbsent(match.getUserId(), id -> new ConcurrentHashMap<>()).put(task.getTaskId(), offer);
+            userIds.add(match.getUserId());
+            notificationStreamService.publishToUser(match.getUserId(), "task-offer", offer);
+        }
+    }
+
+    private void pruneExpiredOffers() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(offerTtlMinutes);
+        offersByVolunteer.values().forEach(offers -> offers.values().removeIf(offer -> offer.getOfferedAt().isBefore(cutoff)));
+        offersByVolunteer.values().removeIf(Map::isEmpty);
+        offeredTo.entrySet().removeIf(entry -> entry.getValue().stream().noneMatch(userId -> {
+            Map<Integer, TaskOfferDTO> offers = offersByVolunteer.get(userId);
+            return offers != null && offers.containsKey(entry.getKey());
+        }));
+    }
+
+    // 0 for someone active right now, rising towards idlePenaltyKm the longer they have been idle
+    private double idleCost(long lastActiveMillis, long now) {
+        if (lastActiveMillis == 0) {
+            return idlePenaltyKm;
+        }
+        double idleHours = Math.max(0, now - lastActiveMillis) / 3_600_000.0;
+        return idlePenaltyKm * (1 - Math.pow(0.5, idleHours / idleHalfLifeHours));
+    }
+
+    private static long toEpochMillis(Object value) {
+        if (value instanceof LocalDateTime time) {
+            return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.getTime();
+        }
+        return 0;
+    }
+
+    private static final class VolunteerState {
+        private final int userId;
+        private final String name;
+        private final Double latitude;
+        private final Double longitude;
+        private final AtomicInteger openTasks = new AtomicInteger();
+        private volatile long lastActiveMillis;
+
+        private VolunteerState(int userId, String name, Double latitude, Double longitude) {
+            this.userId = userId;
+            this.name = name;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+}
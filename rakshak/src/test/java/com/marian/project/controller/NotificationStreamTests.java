@@ -0,0 +1,59 @@
+package com.marian.project.controller;
+
+import com.marian.project.service.StreamTokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Task offers are pushed per user, so a stream only carries them for the user its login token names
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NotificationStreamTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StreamTokenService streamTokenService;
+
+    @Test
+    void tokenFromLoginOpensTheStream() throws Exception {
+        String token = streamTokenService.issue(42, "Volunteer");
+        assertEquals(42, streamTokenService.verify(token).userId());
+
+        mockMvc.perform(get("/api/notifications/stream/Volunteer").param("token", token))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void roleStreamWithoutTokenIsAllowed() throws Exception {
+        mockMvc.perform(get("/api/notifications/stream/Volunteer"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void forgedTokenIsRejected() throws Exception {
+        String token = streamTokenService.issue(42, "Volunteer");
+        String forged = "43" + token.substring(2);
+
+        mockMvc.perform(get("/api/notifications/stream/Volunteer").param("token", forged))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void tokenForAnotherRoleIsRejected() throws Exception {
+        String token = streamTokenService.issue(42, "User");
+
+        mockMvc.perform(get("/api/notifications/stream/Volunteer").param("token", token))
+                .andExpect(status().isForbidden());
+    }
+}
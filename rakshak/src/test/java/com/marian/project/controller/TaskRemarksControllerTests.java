@@ -0,0 +1,97 @@
+package com.marian.project.controller;
+
+import com.marian.project.model.Task;
+import com.marian.project.model.TaskRequest;
+import com.marian.project.model.User;
+import com.marian.project.repository.TaskRepository;
+import com.marian.project.repository.TaskRequestRepository;
+import com.marian.project.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The task screens read the remark endpoints in their original shapes: the POSTs answer with the task,
+// GET /remarks with one text per role. The per-remark history has its own paginated path.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskRemarksControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRequestRepository taskRequestRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void remarkEndpointsKeepTheirShapes() throws Exception {
+        User requester = user("User", "remarks-requester@remarks.test");
+        User volunteer = user("Volunteer", "remarks-volunteer@remarks.test");
+        TaskRequest request = new TaskRequest();
+        request.setUser(requester);
+        request.setRequestTitle("Remarked task");
+        request.setRequestDescription("Seeded by TaskRemarksControllerTests");
+        request.setLocation("Aluva");
+        request.setStatus(TaskRequest.RequestStatus.APPROVED);
+        request = taskRequestRepository.save(request);
+        Task task = new Task();
+        task.setTaskRequest(request);
+        task.setVolunteer(volunteer);
+        task.setStatus(Task.TaskStatus.IN_PROGRESS);
+        task.setPhoto("default_path.jpg");
+        task.setDeadline(LocalDateTime.now().plusDays(7));
+        int taskId = taskRepository.save(task).getTaskId();
+
+        mockMvc.perform(post("/api/tasks/{taskId}/volunteer-remarks", taskId)
+                        .contentType(MediaType.TEXT_PLAIN).content("Reached the site"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taskId").value(taskId))
+                .andExpect(jsonPath("$.volunteerRemarks", endsWith(": Reached the site")));
+        mockMvc.perform(post("/api/tasks/{taskId}/volunteer-remarks", taskId)
+                        .contentType(MediaType.TEXT_PLAIN).content("Water delivered"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/{taskId}/remarks", taskId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.volunteerRemarks", endsWith(": Water delivered")))
+                .andExpect(jsonPath("$.adminRemarks", nullValue()));
+
+        mockMvc.perform(get("/api/tasks/{taskId}/remarks/history", taskId).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].text").value("Water delivered"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    private User user(String role, String email) {
+        User user = new User();
+        user.setName(role + " " + email);
+        user.setEmail(email);
+        user.setPassword("not-used-for-login");
+        user.setPhoneNumber("9000000000");
+        user.setLocation("Aluva");
+        user.setRole(role);
+        user.setUserStatus("active");
+        return userRepository.save(user);
+    }
+}
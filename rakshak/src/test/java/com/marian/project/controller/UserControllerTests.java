@@ -0,0 +1,97 @@
+package com.marian.project.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.marian.project.model.User;
+import com.marian.project.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // The admin screens PUT back the user they fetched with GET, which has no password in it
+    @Test
+    void updateFromFetchedUserKeepsPasswordHash() throws Exception {
+        User user = new User();
+        user.setName("Blocked Later");
+        user.setEmail("blocked-later@users.test");
+        user.setPassword("$2a$10$existingHashThatMustSurviveTheUpdate.................");
+        user.setPhoneNumber("9000000000");
+        user.setLocation("Aluva");
+        user.setRole("Volunteer");
+        user.setUserStatus("active");
+        user = userRepository.save(user);
+        String hash = user.getPassword();
+
+        String fetched = mockMvc.perform(get("/api/users/" + user.getUserId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        ObjectNode body = (ObjectNode) objectMapper.readTree(fetched);
+        assertFalse(body.has("password"));
+        body.put("userStatus", "blocked");
+
+        mockMvc.perform(put("/api/users/" + user.getUserId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk());
+
+        User updated = userRepository.findById(user.getUserId()).orElseThrow();
+        assertEquals("blocked", updated.getUserStatus());
+        assertEquals(hash, updated.getPassword());
+    }
+
+    // The list endpoints hand out rows of the user list DTO, not the entity
+    @Test
+    void userListsCarryTheListDtoOnly() throws Exception {
+        User user = new User();
+        user.setName("Listed User");
+        user.setEmail("listed@users.test");
+        user.setPassword("$2a$10$hashThatMustNeverBeListed.................................");
+        user.setPhoneNumber("9000000000");
+        user.setLocation("Aluva");
+        user.setRole("User");
+        user.setUserStatus("active");
+        user.setLatitude(10.1);
+        user.setLongitude(76.3);
+        userRepository.save(user);
+
+        for (String path : new String[] {"/api/users", "/api/users/page?limit=200"}) {
+            String body = mockMvc.perform(get(path))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode rows = objectMapper.readTree(body);
+            JsonNode row = StreamSupport.stream((rows.isArray() ? rows : rows.get("items")).spliterator(), false)
+                    .filter(node -> "listed@users.test".equals(node.get("email").asText()))
+                    .findFirst().orElseThrow();
+            assertEquals("active", row.get("userStatus").asText());
+            assertFalse(row.has("password"), path);
+            assertFalse(row.has("latitude"), path);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.marian.project.metrics;
+
+import com.marian.project.model.Resource;
+import com.marian.project.model.ResourceRequest;
+import com.marian.project.model.Task;
+import com.marian.project.model.TaskRequest;
+import com.marian.project.model.User;
+import com.marian.project.model.VolunteerApplication;
+import com.marian.project.repository.ResourceRepository;
+import com.marian.project.repository.ResourceRequestRepository;
+import com.marian.project.repository.TaskRepository;
+import com.marian.project.repository.TaskRequestRepository;
+import com.marian.project.repository.UserRepository;
+import com.marian.project.repository.VolunteerApplicationRepository;
+import com.marian.project.service.PasswordHasher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static com.marian.project.metrics.QueryCountAssertions.assertQueryCountAtMost;
+import static com.marian.project.metrics.QueryCountAssertions.countQueries;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The list endpoints must run a fixed number of statements however many rows they return. Every row
+// belongs to a different user (and resource), so a lazy association loaded per row shows up as ROWS
+// extra statements and fails the budget.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTests {
+
+    private static final int ROWS = 25;
+    private static final int BUDGET = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRequestRepository taskRequestRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ResourceRepository resourceRepository;
+
+    @Autowired
+    private ResourceRequestRepository resourceRequestRepository;
+
+    @Autowired
+    private VolunteerApplicationRepository volunteerApplicationRepository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    private User volunteer;
+
+    @BeforeAll
+    void seed() {
+        volunteer = user("Volunteer", "volunteer@budget.test");
+        for (int i = 0; i < ROWS; i++) {
+            User requester = user("User", "user" + i + "@budget.test");
+
+            TaskRequest request = new TaskRequest();
+            request.setUser(requester);
+            request.setRequestTitle("Budget request " + i);
+            request.setRequestDescription("Seeded by QueryBudgetTests");
+            request.setLocation("Aluva");
+            request.setStatus(TaskRequest.RequestStatus.APPROVED);
+            request = taskRequestRepository.save(request);
+
+            Task task = new Task();
+            task.setTaskRequest(request);
+            task.setVolunteer(volunteer);
+            task.setStatus(Task.TaskStatus.IN_PROGRESS);
+            task.setPhoto("default_path.jpg");
+            task.setDeadline(LocalDateTime.now().plusDays(7));
+            taskRepository.save(task);
+
+            Resource resource = new Resource();
+            resource.setName("Budget resource " + i);
+            resource.setType("Relief");
+            resource.setAvailableQuantity(100);
+            resource = resourceRepository.save(resource);
+
+            ResourceRequest resourceRequest = new ResourceRequest();
+            resourceRequest.setUser(requester);
+            resourceRequest.setResource(resource);
+            resourceRequest.setLocation("Aluva");
+            resourceRequest.setStatus("PENDING");
+            resourceRequest.setRequestDate(LocalDateTime.now());
+            resourceRequest.setRequestedQuantity(1);
+            resourceRequestRepository.save(resourceRequest);
+
+            VolunteerApplication application = new VolunteerApplication();
+            application.setUser(requester);
+            application.setApplicationDate(LocalDateTime.now());
+            application.setStatus(VolunteerApplication.ApplicationStatus.PENDING);
+            application.setDescription("Seeded by QueryBudgetTests");
+            volunteerApplicationRepository.save(application);
+        }
+    }
+
+    @Test
+    void taskRequestList() throws Throwable {
+        assertQueryCountAtMost(BUDGET, () -> mockMvc.perform(get("/api/task-requests")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void volunteerTaskList() throws Throwable {
+        assertQueryCountAtMost(BUDGET, () -> mockMvc.perform(get("/api/tasks/volunteer/" + volunteer.getUserId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void resourceRequestAdminList() throws Throwable {
+        assertQueryCountAtMost(BUDGET, () -> mockMvc.perform(get("/api/resource-requests/admin")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void volunteerApplicationList() throws Throwable {
+        assertQueryCountAtMost(BUDGET, () -> mockMvc.perform(get("/volunteer-applications")).andExpect(status().isOk()));
+    }
+
+    // Login reads one projection when the principal is not cached yet, and nothing once it is
+    @Test
+    void loginIsOneQueryColdAndNoneWarm() throws Throwable {
+        User user = user("Volunteer", "login@budget.test");
+        user.setPassword(passwordHasher.encode("budget-password"));
+        userRepository.save(user);
+        String body = "{\"email\":\"login@budget.test\",\"password\":\"budget-password\"}";
+
+        assertEquals(1, countQueries(() -> mockMvc.perform(post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isOk())).getTotal());
+        assertQueryCountAtMost(0, () -> mockMvc.perform(post("/api/login")
+                .contentType(MediaType.APPLICATION_JSON).content(body)).andExpect(status().isOk()));
+    }
+
+    private User user(String role, String email) {
+        User user = new User();
+        user.setName(role + " " + email);
+        user.setEmail(email);
+        user.setPassword("not-used-for-login");
+        user.setPhoneNumber("9000000000");
+        user.setLocation("Aluva");
+        user.setRole(role);
+        user.setUserStatus("active");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,43 @@
+package com.marian.project.metrics;
+
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Test helper: run an action (typically a MockMvc call, which stays on the test thread) and fail
+// when it runs more SQL statements than allowed, listing the statement shapes it did run
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static QueryCounter.Scope countQueries(Executable action) throws Throwable {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            action.execute();
+            return scope;
+        }
+    }
+
+    public static void assertQueryCountAtMost(int max, Executable action) throws Throwable {
+        QueryCounter.Scope scope = countQueries(action);
+        if (scope.getTotal() > max) {
+            fail("Expected at most " + max + " SQL statements but ran " + scope.getTotal() + ":" + describe(scope.getShapes()));
+        }
+    }
+
+    // No statement shape may run threshold times or more; catches N+1 selects whatever the total
+    public static void assertNoRepeatedQueries(int threshold, Executable action) throws Throwable {
+        Map<String, Integer> repeated = countQueries(action).getRepeated(threshold);
+        if (!repeated.isEmpty()) {
+            fail("Statements repeated " + threshold + " times or more (N+1?):" + describe(repeated));
+        }
+    }
+
+    private static String describe(Map<String, Integer> shapes) {
+        StringBuilder text = new StringBuilder();
+        shapes.forEach((shape, count) -> text.append(System.lineSeparator()).append("  ").append(count).append(" x ").append(shape));
+        return text.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.marian.project.repository;
+
+import com.marian.project.model.TaskRequest;
+import com.marian.project.model.TaskRequest.RequestStatus;
+import com.marian.project.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// findPage builds its WHERE clause from the filters that were supplied: absent filters must not narrow
+// the page, supplied ones must, and the cursor must continue strictly below the last id seen.
+// Runs on its own database: a second context on the shared one would drop and recreate its schema.
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:rakshak-keyset-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class KeysetPageTests {
+
+    @Autowired
+    private TaskRequestRepository taskRequestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void filtersAndCursorOnlyApplyWhenSupplied() {
+        User requester = new User();
+        requester.setName("Keyset requester");
+        requester.setEmail("keyset-requester@keyset.test");
+        requester.setPassword("not-used-for-login");
+        requester.setPhoneNumber("9000000000");
+        requester.setLocation("Aluva");
+        requester.setRole("User");
+        requester.setUserStatus("active");
+        User saved = userRepository.save(requester);
+
+        List<Integer> approved = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            TaskRequest request = new TaskRequest();
+            request.setUser(saved);
+            request.setRequestTitle("Keyset " + i);
+            request.setRequestDescription("Seeded by KeysetPageTests");
+            request.setLocation("Aluva");
+            request.setStatus(i % 2 == 0 ? RequestStatus.APPROVED : RequestStatus.REJECTED);
+            int id = taskRequestRepository.save(request).getRequestId();
+            if (i % 2 == 0) {
+                approved.add(0, id);
+            }
+        }
+
+        List<TaskRequest> unfiltered = taskRequestRepository.findPage(null, null, null, null, PageRequest.of(0, 4));
+        assertEquals(4, unfiltered.size());
+        for (int i = 1; i < unfiltered.size(); i++) {
+            assertTrue(unfiltered.get(i - 1).getRequestId() > unfiltered.get(i).getRequestId(), "newest first");
+        }
+
+        List<TaskRequest> first = taskRequestRepository.findPage(null, RequestStatus.APPROVED, null, null, PageRequest.of(0, 2));
+        assertEquals(approved.subList(0, 2), first.stream().map(TaskRequest::getRequestId).toList());
+        // The requester is fetched with the page, not lazily afterwards
+        assertNotNull(first.get(0).getUser().getEmail());
+
+        List<TaskRequest> next = taskRequestRepository.findPage(first.get(1).getRequestId(), RequestStatus.APPROVED,
+                null, null, PageRequest.of(0, 2));
+        assertEquals(approved.subList(2, 3), next.stream().map(TaskRequest::getRequestId).toList());
+    }
+}
@@ -0,0 +1,48 @@
+package com.marian.project.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Counter moves only count once their transaction commits, and a reconcile corrects the live
+// counters in place instead of replacing them
+@SpringBootTest
+@ActiveProfiles("test")
+class DashboardServiceTests {
+
+    // A role no other test creates, so its real row count is always zero
+    private static final String ROLE = "DashboardProbe";
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void movesWaitForCommitAndReconcileCorrectsDrift() {
+        dashboardService.reconcile();
+        assertEquals(0, dashboardService.getCount(DashboardService.USERS_BY_ROLE, ROLE));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            dashboardService.move(DashboardService.USERS_BY_ROLE, null, ROLE);
+            assertEquals(0, dashboardService.getCount(DashboardService.USERS_BY_ROLE, ROLE),
+                    "a move must not show before its transaction commits");
+            status.setRollbackOnly();
+        });
+        assertEquals(0, dashboardService.getCount(DashboardService.USERS_BY_ROLE, ROLE),
+                "a rolled back move must never show");
+
+        transactionTemplate.executeWithoutResult(status ->
+                dashboardService.move(DashboardService.USERS_BY_ROLE, null, ROLE, 3));
+        assertEquals(3, dashboardService.getCount(DashboardService.USERS_BY_ROLE, ROLE));
+
+        // No such rows exist, so the reconcile brings the drifted counter back to zero
+        dashboardService.reconcile();
+        assertEquals(0, dashboardService.getCount(DashboardService.USERS_BY_ROLE, ROLE));
+    }
+}
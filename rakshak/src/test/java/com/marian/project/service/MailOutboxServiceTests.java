@@ -0,0 +1,188 @@
+package com.marian.project.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.marian.project.model.MailOutboxMessage;
+import com.marian.project.model.User;
+import com.marian.project.repository.MailOutboxRepository;
+import com.marian.project.repository.UserRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the outbox against an in-process SMTP server. The scheduled poll is pushed a day out so only
+// the test calls dispatch(), and the context gets its own H2 database so other test classes' rows
+// never show up in the outbox.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rakshak-mail-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.username=",
+        "spring.mail.password=",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "rakshak.mail.outbox.enabled=true",
+        "rakshak.mail.outbox.initial-delay-ms=86400000",
+        "rakshak.mail.outbox.poll-interval-ms=86400000",
+        "rakshak.mail.outbox.backoff-seconds=30",
+        "rakshak.mail.outbox.per-recipient-limit=2",
+        "rakshak.mail.outbox.per-recipient-window-seconds=300"
+})
+@ActiveProfiles("test")
+class MailOutboxServiceTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private PasswordResetService passwordResetService;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void clearOutbox() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void dispatchDeliversQueuedResetMails() throws Exception {
+        user("first-reset@mail.test");
+        user("second-reset@mail.test");
+        passwordResetService.sendPasswordResetEmail("first-reset@mail.test");
+        passwordResetService.sendPasswordResetEmail("second-reset@mail.test");
+        assertEquals(2, mailOutboxService.countPending());
+
+        mailOutboxService.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Password Reset Request", received[0].getSubject());
+        assertEquals("first-reset@mail.test", received[0].getAllRecipients()[0].toString());
+        assertEquals("second-reset@mail.test", received[1].getAllRecipients()[0].toString());
+        for (MailOutboxMessage message : mailOutboxRepository.findAll()) {
+            assertEquals(MailOutboxMessage.MailStatus.SENT, message.getStatus());
+            assertEquals(0, message.getAttempts());
+            assertNotNull(message.getSentAt());
+        }
+        assertEquals(0, mailOutboxService.countPending());
+    }
+
+    @Test
+    void failedSendIsRetriedAfterBackoff() {
+        user("backoff-reset@mail.test");
+        passwordResetService.sendPasswordResetEmail("backoff-reset@mail.test");
+        greenMail.stop();
+
+        LocalDateTime before = LocalDateTime.now();
+        mailOutboxService.dispatch();
+
+        MailOutboxMessage message = mailOutboxRepository.findAll().get(0);
+        assertEquals(MailOutboxMessage.MailStatus.PENDING, message.getStatus());
+        assertEquals(1, message.getAttempts());
+        assertNotNull(message.getLastError());
+        assertTrue(message.getNextAttemptAt().isAfter(before.plusSeconds(29)),
+                "next attempt must wait out the backoff, was " + message.getNextAttemptAt());
+
+        // Not due yet, so a second pass leaves it alone
+        mailOutboxService.dispatch();
+        assertEquals(1, mailOutboxRepository.findById(message.getId()).orElseThrow().getAttempts());
+    }
+
+    @Test
+    void perRecipientLimitDefersTheRest() {
+        for (int i = 0; i < 4; i++) {
+            mailOutboxService.enqueue("flooded@mail.test", "Password Reset Request", "Reset " + i);
+        }
+        mailOutboxService.enqueue("other@mail.test", "Password Reset Request", "Reset");
+
+        LocalDateTime before = LocalDateTime.now();
+        mailOutboxService.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length, "two for the flooded recipient, one for the other");
+        List<MailOutboxMessage> deferred = mailOutboxRepository.findAll().stream()
+                .filter(message -> message.getStatus() == MailOutboxMessage.MailStatus.PENDING)
+                .toList();
+        assertEquals(2, deferred.size());
+        for (MailOutboxMessage message : deferred) {
+            assertEquals("flooded@mail.test", message.getRecipient());
+            assertEquals(0, message.getAttempts(), "a deferral is not a failed attempt");
+            assertTrue(message.getNextAttemptAt().isAfter(before));
+        }
+
+        // Still inside the window, so nothing more goes out
+        mailOutboxService.dispatch();
+        assertEquals(3, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void rowsClaimedByAnotherDispatcherAreLeftAlone() throws Exception {
+        MailOutboxMessage claimed = mailOutboxService.enqueue("claimed@mail.test", "Password Reset Request", "Reset");
+        MailOutboxMessage abandoned = mailOutboxService.enqueue("abandoned@mail.test", "Password Reset Request", "Reset");
+        // Another instance holds the first row; the second was claimed by one that died and whose lease ran out
+        claimed.setStatus(MailOutboxMessage.MailStatus.SENDING);
+        claimed.setClaimToken("other-instance");
+        claimed.setNextAttemptAt(LocalDateTime.now().plusMinutes(5));
+        abandoned.setStatus(MailOutboxMessage.MailStatus.SENDING);
+        abandoned.setClaimToken("dead-instance");
+        abandoned.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        mailOutboxRepository.saveAll(List.of(claimed, abandoned));
+
+        mailOutboxService.dispatch();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("abandoned@mail.test", received[0].getAllRecipients()[0].toString());
+        assertEquals(MailOutboxMessage.MailStatus.SENDING,
+                mailOutboxRepository.findById(claimed.getId()).orElseThrow().getStatus());
+        MailOutboxMessage sent = mailOutboxRepository.findById(abandoned.getId()).orElseThrow();
+        assertEquals(MailOutboxMessage.MailStatus.SENT, sent.getStatus());
+        assertNull(sent.getClaimToken());
+    }
+
+    @Test
+    void identicalMessagesAreTrackedSeparately() {
+        mailOutboxService.enqueue("twice@mail.test", "Password Reset Request", "Same text");
+        mailOutboxService.enqueue("twice@mail.test", "Password Reset Request", "Same text");
+
+        mailOutboxService.dispatch();
+
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        for (MailOutboxMessage message : mailOutboxRepository.findAll()) {
+            assertEquals(MailOutboxMessage.MailStatus.SENT, message.getStatus());
+        }
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setName("Reset " + email);
+        user.setEmail(email);
+        user.setPassword("not-used-for-login");
+        user.setPhoneNumber("9000000000");
+        user.setLocation("Aluva");
+        user.setRole("User");
+        user.setUserStatus("active");
+        return userRepository.save(user);
+    }
+}
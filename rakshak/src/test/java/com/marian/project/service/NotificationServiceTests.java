@@ -0,0 +1,50 @@
+package com.marian.project.service;
+
+import com.marian.project.model.Notification;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Editing a released notification moves it between the role feeds at once: it leaves the old role's
+// feed when retargeted and every feed when pushed into the future
+@SpringBootTest
+@ActiveProfiles("test")
+class NotificationServiceTests {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Test
+    void editMovesAReleasedNotificationBetweenFeeds() {
+        Notification notification = notificationService.createNotification(notification("User", LocalDateTime.now().minusMinutes(1)));
+        Long id = notification.getId();
+        assertTrue(visibleTo("User", id));
+
+        notificationService.updateNotification(id, notification("Volunteer", LocalDateTime.now().minusMinutes(1)));
+        assertFalse(visibleTo("User", id), "the old role must lose a retargeted notification");
+        assertTrue(visibleTo("Volunteer", id));
+
+        notificationService.updateNotification(id, notification("Volunteer", LocalDateTime.now().plusDays(1)));
+        assertFalse(visibleTo("Volunteer", id), "a notification moved into the future is withdrawn until then");
+    }
+
+    private boolean visibleTo(String role, Long id) {
+        return notificationService.getNotificationsForUser(role).stream().anyMatch(n -> n.getId().equals(id));
+    }
+
+    private Notification notification(String targetRole, LocalDateTime scheduledFor) {
+        Notification notification = new Notification();
+        notification.setTitle("Feed move");
+        notification.setMessage("Seeded by NotificationServiceTests");
+        notification.setType("Information");
+        notification.setTargetRole(targetRole);
+        notification.setScheduledFor(scheduledFor);
+        return notification;
+    }
+}
@@ -0,0 +1,92 @@
+package com.marian.project.service;
+
+import com.marian.project.model.Task;
+import com.marian.project.model.TaskRequest;
+import com.marian.project.model.User;
+import com.marian.project.repository.TaskRepository;
+import com.marian.project.repository.TaskRequestRepository;
+import com.marian.project.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The available-task queue only hears about a claim once the claim has committed: a rolled-back
+// acceptTask must leave the task on offer, a committed one must take it off
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskAfterCommitTests {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private AvailableTaskQueue availableTaskQueue;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRequestRepository taskRequestRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void rolledBackClaimLeavesTheTaskQueued() {
+        User requester = user("User", "aftercommit-requester@aftercommit.test");
+        User volunteer = user("Volunteer", "aftercommit-volunteer@aftercommit.test");
+        Task task = pendingTask(requester);
+        int taskId = task.getTaskId();
+        availableTaskQueue.taskChanged(task);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.acceptTask(taskId, (long) volunteer.getUserId());
+            status.setRollbackOnly();
+        });
+        assertTrue(availableTaskQueue.peek(Integer.MAX_VALUE).contains(taskId),
+                "a rolled-back claim must not take the task off the queue");
+
+        taskService.acceptTask(taskId, (long) volunteer.getUserId());
+        assertFalse(availableTaskQueue.peek(Integer.MAX_VALUE).contains(taskId),
+                "a committed claim must take the task off the queue");
+    }
+
+    private Task pendingTask(User requester) {
+        TaskRequest request = new TaskRequest();
+        request.setUser(requester);
+        request.setRequestTitle("After-commit task");
+        request.setRequestDescription("Seeded by TaskAfterCommitTests");
+        request.setLocation("Aluva");
+        request.setStatus(TaskRequest.RequestStatus.APPROVED);
+        request = taskRequestRepository.save(request);
+
+        Task task = new Task();
+        task.setTaskRequest(request);
+        task.setStatus(Task.TaskStatus.PENDING);
+        task.setPhoto("default_path.jpg");
+        task.setDeadline(LocalDateTime.now().plusDays(7));
+        return taskRepository.save(task);
+    }
+
+    private User user(String role, String email) {
+        User user = new User();
+        user.setName(role + " " + email);
+        user.setEmail(email);
+        user.setPassword("not-used-for-login");
+        user.setPhoneNumber("9000000000");
+        user.setLocation("Aluva");
+        user.setRole(role);
+        user.setUserStatus("active");
+        return userRepository.save(user);
+    }
+}
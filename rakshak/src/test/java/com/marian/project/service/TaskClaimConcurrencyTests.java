@@ -0,0 +1,131 @@
+package com.marian.project.service;
+
+import com.marian.project.model.Task;
+import com.marian.project.model.TaskRequest;
+import com.marian.project.model.User;
+import com.marian.project.repository.TaskRepository;
+import com.marian.project.repository.TaskRequestRepository;
+import com.marian.project.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Many volunteers accept the same PENDING task at the same moment: exactly one must get it, every
+// other one must get a 409, and the row must name the winner
+@SpringBootTest
+@ActiveProfiles("test")
+class TaskClaimConcurrencyTests {
+
+    // Below the Hikari pool size, so every claim has a connection when the latch opens
+    private static final int VOLUNTEERS = 8;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRequestRepository taskRequestRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exactlyOneVolunteerWinsTheTask() throws Exception {
+        User requester = user("User", "claim-requester@claims.test");
+        TaskRequest request = new TaskRequest();
+        request.setUser(requester);
+        request.setRequestTitle("Contended task");
+        request.setRequestDescription("Seeded by TaskClaimConcurrencyTests");
+        request.setLocation("Aluva");
+        request.setStatus(TaskRequest.RequestStatus.APPROVED);
+        request = taskRequestRepository.save(request);
+
+        Task task = new Task();
+        task.setTaskRequest(request);
+        task.setStatus(Task.TaskStatus.PENDING);
+        task.setPhoto("default_path.jpg");
+        task.setDeadline(LocalDateTime.now().plusDays(7));
+        int taskId = taskRepository.save(task).getTaskId();
+
+        List<User> volunteers = new ArrayList<>();
+        for (int i = 0; i < VOLUNTEERS; i++) {
+            volunteers.add(user("Volunteer", "claimer" + i + "@claims.test"));
+        }
+
+        CountDownLatch ready = new CountDownLatch(VOLUNTEERS);
+        CountDownLatch go = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Integer> winners = new ConcurrentLinkedQueue<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(VOLUNTEERS);
+        try {
+            for (User volunteer : volunteers) {
+                pool.execute(() -> {
+                    ready.countDown();
+                    try {
+                        go.await();
+                        taskService.acceptTask(taskId, (long) volunteer.getUserId());
+                        winners.add(volunteer.getUserId());
+                    } catch (ResponseStatusException e) {
+                        if (e.getStatusCode() == HttpStatus.CONFLICT) {
+                            conflicts.incrementAndGet();
+                        } else {
+                            unexpected.add(e);
+                        }
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                });
+            }
+            assertTrue(ready.await(10, TimeUnit.SECONDS));
+            go.countDown();
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(1, winners.size(), "exactly one acceptTask must succeed");
+        assertEquals(VOLUNTEERS - 1, conflicts.get(), "every other volunteer must get 409");
+        Integer assigned = jdbcTemplate.queryForObject(
+                "SELECT volunteer_id FROM tasks WHERE task_id = ?", Integer.class, taskId);
+        assertEquals(winners.peek(), assigned);
+        assertEquals("IN_PROGRESS", jdbcTemplate.queryForObject(
+                "SELECT status FROM tasks WHERE task_id = ?", String.class, taskId));
+    }
+
+    private User user(String role, String email) {
+        User user = new User();
+        user.setName(role + " " + email);
+        user.setEmail(email);
+        user.setPassword("not-used-for-login");
+        user.setPhoneNumber("9000000000");
+        user.setLocation("Aluva");
+        user.setRole(role);
+        user.setUserStatus("active");
+        return userRepository.save(user);
+    }
+}
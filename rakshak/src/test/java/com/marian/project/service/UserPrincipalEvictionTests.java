@@ -0,0 +1,63 @@
+package com.marian.project.service;
+
+import com.marian.project.model.User;
+import com.marian.project.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The cached login principal is dropped only once a password change has committed: while the change is
+// in flight (or after it rolled back) the cache keeps the hash that is still in the database
+@SpringBootTest
+@ActiveProfiles("test")
+class UserPrincipalEvictionTests {
+
+    private static final String EMAIL = "evicted-after-commit@principal.test";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void passwordChangeEvictsOnlyAfterCommit() {
+        User user = new User();
+        user.setName("Principal " + EMAIL);
+        user.setEmail(EMAIL);
+        user.setPassword("old-password");
+        user.setPhoneNumber("9000000000");
+        user.setLocation("Aluva");
+        user.setRole("User");
+        user.setUserStatus("active");
+        userService.saveUser(user);
+        assertTrue(userService.authenticate(EMAIL, "old-password").isPresent());
+        assertNotNull(principalCache.get(EMAIL));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updatePassword(userRepository.findByEmail(EMAIL).orElseThrow(), "rolled-back");
+            status.setRollbackOnly();
+        });
+        assertNotNull(principalCache.get(EMAIL), "a rolled back change must not evict");
+        assertTrue(userService.authenticate(EMAIL, "old-password").isPresent());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updatePassword(userRepository.findByEmail(EMAIL).orElseThrow(), "new-password");
+            assertNotNull(principalCache.get(EMAIL), "eviction waits for the commit");
+        });
+        assertNull(principalCache.get(EMAIL));
+        assertTrue(userService.authenticate(EMAIL, "new-password").isPresent());
+    }
+}